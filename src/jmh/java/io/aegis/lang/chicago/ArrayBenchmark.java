@@ -0,0 +1,67 @@
+package io.aegis.lang.chicago;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private Array full;
+
+    @Setup
+    public void setUp() {
+        full = pushAll(size);
+    }
+
+    @Benchmark
+    public Array push() {
+        return pushAll(size);
+    }
+
+    @Benchmark
+    public long tail() {
+        var array = full;
+        long sum = 0;
+        while (array.isNotEmpty()) {
+            sum += ((IntegerValue) array.first()).value();
+            array = array.tail();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long get() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += ((IntegerValue) full.get(IntegerValue.of(i))).value();
+        }
+        return sum;
+    }
+
+    private static Array pushAll(int size) {
+        var array = Array.EMPTY;
+        for (int i = 0; i < size; i++) {
+            array = array.push(IntegerValue.of(i));
+        }
+        return array;
+    }
+
+}
@@ -0,0 +1,64 @@
+package io.aegis.lang.chicago;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayFunctionsBenchmark {
+
+    private static final String SCORE = "let score = fn(r) { r * 3 + r / 7 - 11 };";
+
+    @Param({"100000", "500000"})
+    public int records;
+
+    @Param({"evaluator", "vm"})
+    public String engine;
+
+    private Script recursive;
+    private Script mapped;
+    private Bindings bindings;
+
+    @Setup
+    public void setUp() {
+        var chicago = new ChicagoEngine("vm".equals(engine)
+              ? ChicagoEngine.Backend.VIRTUAL_MACHINE : ChicagoEngine.Backend.EVALUATOR);
+        recursive = chicago.compile(SCORE + """
+              let loop = fn(rs, out) { if (len(rs) == 0) { out } else { loop(tail(rs), push(out, score(first(rs)))) } };
+              len(loop(records, []));
+              """);
+        mapped = chicago.compile(SCORE + "len(map(records, score));");
+        List<Long> values = new ArrayList<>(records);
+        for (long i = 0; i < records; i++) {
+            values.add(i);
+        }
+        bindings = new Bindings().put("records", values);
+    }
+
+    @Benchmark
+    public Value recursion() {
+        return recursive.run(bindings);
+    }
+
+    @Benchmark
+    public Value map() {
+        return mapped.run(bindings);
+    }
+
+}
@@ -0,0 +1,142 @@
+package io.aegis.lang.chicago;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// parsing a source against loading it from an AstCache, per script and per process start
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AstCacheBenchmark {
+
+    private String source;
+    private Path directory;
+    private AstCache cache;
+    private byte[] bytes;
+    private byte[] digest;
+
+    @Setup
+    public void setUp() throws IOException {
+        source = BenchmarkScripts.FIBONACCI + BenchmarkScripts.CLOSURES + BenchmarkScripts.ARRAY_PUSH_TAIL
+              + BenchmarkScripts.COUNTING + BenchmarkScripts.DICTIONARY_LOOKUP;
+        directory = Files.createTempDirectory("chicago-ast");
+        cache = new AstCache(directory);
+        cache.program(source);
+        bytes = Files.readAllBytes(cache.file(source));
+        digest = digest(source);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        cache.invalidate(source);
+        Files.deleteIfExists(directory);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Startup {
+
+        private static final int SCRIPTS = 500;
+
+        private final List<String> sources = new ArrayList<>();
+        private Path directory;
+        private AstCache cache;
+
+        @Setup
+        public void setUp() throws IOException {
+            var script = BenchmarkScripts.FIBONACCI + BenchmarkScripts.CLOSURES + BenchmarkScripts.ARRAY_PUSH_TAIL
+                  + BenchmarkScripts.COUNTING + BenchmarkScripts.DICTIONARY_LOOKUP;
+            directory = Files.createTempDirectory("chicago-ast");
+            cache = new AstCache(directory);
+            // the files are built from a single parse so that the parser is as cold as in a new process
+            var statements = new Parser(script).parseProgram().statements();
+            for (int i = 0; i < SCRIPTS; i++) {
+                var source = "let version = " + i + ";\n" + script;
+                var version = new LetStatement(new Token(TokenType.LET, "let"),
+                      new Identifier(new Token(TokenType.IDENT, "version"), "version"),
+                      new IntegerLiteral(new Token(TokenType.INT, String.valueOf(i)), i));
+                var program = new ArrayList<Statement>();
+                program.add(version);
+                program.addAll(statements);
+                Files.write(cache.file(source), AstFormat.write(new Program(program), digest(source)));
+                sources.add(source);
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            sources.forEach(cache::invalidate);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public void parseAtStartup(Startup startup, Blackhole blackhole) {
+        for (String source : startup.sources) {
+            blackhole.consume(new Parser(source).parseProgram());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public void loadAtStartup(Startup startup, Blackhole blackhole) {
+        for (String source : startup.sources) {
+            blackhole.consume(startup.cache.program(source));
+        }
+    }
+
+    @Benchmark
+    public Program parse() {
+        return new Parser(source).parseProgram();
+    }
+
+    @Benchmark
+    public Program load() {
+        return cache.program(source);
+    }
+
+    @Benchmark
+    public Program decode() {
+        return new Resolver().resolve(AstFormat.read(ByteBuffer.wrap(bytes), digest));
+    }
+
+    private static byte[] digest(String source) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
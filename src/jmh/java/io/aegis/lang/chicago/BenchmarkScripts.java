@@ -0,0 +1,78 @@
+package io.aegis.lang.chicago;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+final class BenchmarkScripts {
+
+    static final String FIBONACCI = """
+          let fib = fn(n) { if (n < 2) { return n; } fib(n - 1) + fib(n - 2) };
+          fib(20);
+          """;
+
+    static final String CLOSURES = """
+          let adder = fn(x) { fn(y) { x + y } };
+          let compose = fn(f, g) { fn(x) { g(f(x)) } };
+          let repeat = fn(f, n, acc) { if (n == 0) { acc } else { repeat(f, n - 1, f(acc)) } };
+          let step = compose(adder(1), adder(2));
+          repeat(step, 200, 0);
+          """;
+
+    static final String ARRAY_PUSH_TAIL = """
+          let build = fn(arr, n) { if (n == 0) { arr } else { build(push(arr, n), n - 1) } };
+          let sum = fn(arr, acc) { if (len(arr) == 0) { acc } else { sum(tail(arr), acc + first(arr)) } };
+          sum(build([], 200), 0);
+          """;
+
+    static final String COUNTING = """
+          let count = fn(n, acc) { if (n == 0) { acc } else { count(n - 1, acc + n * 2 - n) } };
+          count(200, 0);
+          """;
+
+    static final String DICTIONARY_LOOKUP = """
+          let table = %s;
+          let lookup = fn(n, acc) { if (n == 0) { acc } else { lookup(n - 1, acc + table[n - (n / 20) * 20]) } };
+          lookup(200, 0);
+          """.formatted(IntStream.range(0, 20)
+          .mapToObj(i -> i + ": " + (i * 7))
+          .collect(Collectors.joining(", ", "{", "}")));
+
+    private BenchmarkScripts() {
+        super();
+    }
+
+    static String largeSource(int repetitions) {
+        var chunk = """
+              let score_%2$s = fn(record, weight) {
+                  let base = record["value"] * weight + %1$d;
+                  if (base > 100) { return base - 100; } else { return push([base, "bonus"], !true); }
+              };
+              """;
+        var sb = new StringBuilder();
+        for (int i = 0; i < repetitions; i++) {
+            sb.append(chunk.formatted(i, identifierSuffix(i)));
+        }
+        return sb.toString();
+    }
+
+    private static String identifierSuffix(int index) {
+        var sb = new StringBuilder();
+        var remaining = index;
+        do {
+            sb.append((char) ('a' + remaining % 26));
+            remaining /= 26;
+        } while (remaining > 0);
+        return sb.toString();
+    }
+
+    static String deepExpression(int depth) {
+        var sb = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            sb.append(i).append(i % 2 == 0 ? " + (" : " * (");
+        }
+        sb.append(depth);
+        sb.append(")".repeat(depth));
+        return sb.toString();
+    }
+
+}
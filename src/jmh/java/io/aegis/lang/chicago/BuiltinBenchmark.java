@@ -0,0 +1,54 @@
+package io.aegis.lang.chicago;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuiltinBenchmark {
+
+    private static final String SOURCE = """
+          let loop = fn(i, total) { if (i == 0) { total } else { loop(i - 1, total + clamp(i, 10, 100)) } };
+          loop(10000, 0);
+          """;
+
+    @Param({"fixed", "variadic"})
+    public String arity;
+
+    @Param({"evaluator", "vm"})
+    public String engine;
+
+    private Script script;
+
+    @Setup
+    public void setUp() {
+        TernaryBuiltin clamp = (value, low, high) -> IntegerValue.of(Math.max(low.as(IntegerValue.class).value(),
+              Math.min(high.as(IntegerValue.class).value(), value.as(IntegerValue.class).value())));
+        var registry = "fixed".equals(arity)
+              ? BuiltinRegistry.standard().register("clamp", clamp)
+              : BuiltinRegistry.standard().register("clamp", Builtin.VARIADIC, args -> clamp.apply(args));
+        var chicago = new ChicagoEngine("vm".equals(engine)
+              ? ChicagoEngine.Backend.VIRTUAL_MACHINE : ChicagoEngine.Backend.EVALUATOR, new ScriptCache(registry));
+        script = chicago.compile(SOURCE);
+    }
+
+    @Benchmark
+    public Value loop() {
+        return script.run();
+    }
+
+}
@@ -0,0 +1,47 @@
+package io.aegis.lang.chicago;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// parsing alone against parsing and compiling, to closures or bytecode
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClosureCompilerBenchmark {
+
+    private String source;
+
+    @Setup
+    public void setUp() {
+        source = BenchmarkScripts.FIBONACCI + BenchmarkScripts.CLOSURES + BenchmarkScripts.ARRAY_PUSH_TAIL
+              + BenchmarkScripts.DICTIONARY_LOOKUP;
+    }
+
+    @Benchmark
+    public Program parse() {
+        return new Parser(source).parseProgram();
+    }
+
+    @Benchmark
+    public CompiledProgram parseAndCompileClosures() {
+        return new ClosureCompiler().compile(new Parser(source).parseProgram());
+    }
+
+    @Benchmark
+    public Bytecode parseAndCompileBytecode() {
+        return new Compiler().compile(new Parser(source).parseProgram());
+    }
+
+}
@@ -0,0 +1,76 @@
+package io.aegis.lang.chicago;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DictionaryBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private Value[] keys;
+    private Map<Value, Value> hashMap;
+    private Dictionary dictionary;
+
+    @Setup
+    public void setUp() {
+        keys = new Value[size];
+        hashMap = new HashMap<>();
+        var persistent = Dictionary.EMPTY;
+        for (int i = 0; i < size; i++) {
+            keys[i] = new StringValue("key" + i);
+            hashMap.put(keys[i], IntegerValue.of(i));
+            persistent = persistent.put(keys[i], IntegerValue.of(i));
+        }
+        dictionary = persistent;
+    }
+
+    @Benchmark
+    public Map<Value, Value> hashMapCopyOnWritePut() {
+        Map<Value, Value> updated = new HashMap<>(hashMap);
+        updated.put(keys[size / 2], BooleanValue.TRUE);
+        return updated;
+    }
+
+    @Benchmark
+    public Dictionary persistentPut() {
+        return dictionary.put(keys[size / 2], BooleanValue.TRUE);
+    }
+
+    @Benchmark
+    public long hashMapLookup() {
+        long sum = 0;
+        for (Value key : keys) {
+            sum += ((IntegerValue) hashMap.get(key)).value();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long persistentLookup() {
+        long sum = 0;
+        for (Value key : keys) {
+            sum += ((IntegerValue) dictionary.get(key)).value();
+        }
+        return sum;
+    }
+
+}
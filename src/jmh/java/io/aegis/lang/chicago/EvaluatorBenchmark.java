@@ -0,0 +1,85 @@
+package io.aegis.lang.chicago;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+
+    @Param({"evaluator", "closures", "vm"})
+    public String engine;
+
+    private Program fibonacci;
+    private Program closures;
+    private Program arrayPushTail;
+    private Program dictionaryLookup;
+    private Bytecode fibonacciBytecode;
+    private Bytecode closuresBytecode;
+    private Bytecode arrayPushTailBytecode;
+    private Bytecode dictionaryLookupBytecode;
+    private CompiledProgram fibonacciClosures;
+    private CompiledProgram closuresClosures;
+    private CompiledProgram arrayPushTailClosures;
+    private CompiledProgram dictionaryLookupClosures;
+
+    @Setup
+    public void setUp() {
+        fibonacci = new Parser(BenchmarkScripts.FIBONACCI).parseProgram();
+        closures = new Parser(BenchmarkScripts.CLOSURES).parseProgram();
+        arrayPushTail = new Parser(BenchmarkScripts.ARRAY_PUSH_TAIL).parseProgram();
+        dictionaryLookup = new Parser(BenchmarkScripts.DICTIONARY_LOOKUP).parseProgram();
+        fibonacciBytecode = new Compiler().compile(fibonacci);
+        closuresBytecode = new Compiler().compile(closures);
+        arrayPushTailBytecode = new Compiler().compile(arrayPushTail);
+        dictionaryLookupBytecode = new Compiler().compile(dictionaryLookup);
+        fibonacciClosures = new ClosureCompiler().compile(fibonacci);
+        closuresClosures = new ClosureCompiler().compile(closures);
+        arrayPushTailClosures = new ClosureCompiler().compile(arrayPushTail);
+        dictionaryLookupClosures = new ClosureCompiler().compile(dictionaryLookup);
+    }
+
+    @Benchmark
+    public Value fibonacci() {
+        return run(fibonacci, fibonacciBytecode, fibonacciClosures);
+    }
+
+    @Benchmark
+    public Value closures() {
+        return run(closures, closuresBytecode, closuresClosures);
+    }
+
+    @Benchmark
+    public Value arrayPushTail() {
+        return run(arrayPushTail, arrayPushTailBytecode, arrayPushTailClosures);
+    }
+
+    @Benchmark
+    public Value dictionaryLookup() {
+        return run(dictionaryLookup, dictionaryLookupBytecode, dictionaryLookupClosures);
+    }
+
+    private Value run(Program program, Bytecode bytecode, CompiledProgram compiled) {
+        if ("vm".equals(engine)) {
+            return new VirtualMachine(bytecode).run();
+        } else if ("closures".equals(engine)) {
+            return new Evaluator().evaluate(new Environment(), compiled);
+        }
+        return new Evaluator().evaluate(new Environment(), program);
+    }
+
+}
@@ -0,0 +1,44 @@
+package io.aegis.lang.chicago;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntegerArithmeticBenchmark {
+
+    @Param({"evaluator", "vm"})
+    public String engine;
+
+    private Program counting;
+    private Bytecode countingBytecode;
+
+    @Setup
+    public void setUp() {
+        counting = new Parser(BenchmarkScripts.COUNTING).parseProgram();
+        countingBytecode = new Compiler().compile(counting);
+    }
+
+    @Benchmark
+    public Value counting() {
+        if ("vm".equals(engine)) {
+            return new VirtualMachine(countingBytecode).run();
+        }
+        return new Evaluator().evaluate(new Environment(), counting);
+    }
+
+}
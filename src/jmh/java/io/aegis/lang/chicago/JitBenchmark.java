@@ -0,0 +1,67 @@
+package io.aegis.lang.chicago;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JitBenchmark {
+
+    private static final String FIB = """
+          let fib = fn(n) { if (n < 2) { return n; } fib(n - 1) + fib(n - 2) };
+          fib(22);
+          """;
+
+    // a kernel called from a loop that stays interpreted, since it calls more than itself
+    private static final String SCORING = """
+          let score = fn(a, b, c) { (a * 3 + b * 5 - c / 2) * (a - b) + (c * c - a) / (b + 1) };
+          let loop = fn(i, total) {
+            if (i < 1) { total } else { loop(i - 1, total + score(i, i + 1, i + 2) - total / 2) }
+          };
+          loop(5000, 0);
+          """;
+
+    @Param({"-1", "1000"})
+    private String threshold;
+
+    private Program fib;
+    private Program scoring;
+
+    @Setup
+    public void setUp() {
+        System.setProperty(Jit.THRESHOLD_PROPERTY, threshold);
+        fib = new Parser(FIB).parseProgram();
+        scoring = new Parser(SCORING).parseProgram();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.clearProperty(Jit.THRESHOLD_PROPERTY);
+    }
+
+    @Benchmark
+    public Value fib() {
+        return new Evaluator().evaluate(new Environment(), fib);
+    }
+
+    @Benchmark
+    public Value scoring() {
+        return new Evaluator().evaluate(new Environment(), scoring);
+    }
+
+}
@@ -0,0 +1,42 @@
+package io.aegis.lang.chicago;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    private String largeSource;
+    private String deepExpression;
+
+    @Setup
+    public void setUp() {
+        largeSource = BenchmarkScripts.largeSource(500);
+        deepExpression = BenchmarkScripts.deepExpression(200);
+    }
+
+    @Benchmark
+    public Program parseLargeProgram() {
+        return new Parser(largeSource).parseProgram();
+    }
+
+    @Benchmark
+    public Program parseDeepExpression() {
+        return new Parser(deepExpression).parseProgram();
+    }
+
+}
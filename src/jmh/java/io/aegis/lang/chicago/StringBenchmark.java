@@ -0,0 +1,60 @@
+package io.aegis.lang.chicago;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringBenchmark {
+
+    // 40 characters per piece, so 25000 pieces build a 1MB string
+    private static final String PIECE = "0123456789012345678901234567890123456789";
+
+    private static final String ACCUMULATE = """
+          let build = fn(s, n) { if (n == 0) { s } else { build(s + piece, n - 1) } };
+          len(build("", pieces));
+          """;
+
+    @Param({"1000", "5000", "25000"})
+    public int pieces;
+
+    private Program program;
+
+    @Setup
+    public void setUp() {
+        program = new Parser(ACCUMULATE).parseProgram();
+    }
+
+    @Benchmark
+    public Value accumulateInScript() {
+        var environment = new Environment();
+        environment.set("piece", new StringValue(PIECE));
+        environment.set("pieces", IntegerValue.of(pieces));
+        return new Evaluator().evaluate(environment, program);
+    }
+
+    @Benchmark
+    public Value accumulateAndHash() {
+        var value = new StringValue("");
+        var piece = new StringValue(PIECE);
+        for (int i = 0; i < pieces; i++) {
+            value = (StringValue) Operators.infix("+", value, piece);
+        }
+        return IntegerValue.of(value.hashCode());
+    }
+
+}
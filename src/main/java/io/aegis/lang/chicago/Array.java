@@ -2,16 +2,16 @@ package io.aegis.lang.chicago;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public record Array(List<Value> elements) implements Value {
 
-    public static final Array EMPTY = new Array(List.of());
+    public static final Array EMPTY = new Array(PersistentVector.empty());
 
     public Array {
         requireNonNull(elements, "elements can't be null");
+        elements = PersistentVector.copyOf(elements);
     }
 
     @Override
@@ -50,15 +50,13 @@ public record Array(List<Value> elements) implements Value {
     }
 
     public Array tail() {
-        return isEmpty() || elements.size() == 1 ? EMPTY : new Array(elements.subList(1, size()));
+        return isEmpty() || elements.size() == 1 ? EMPTY : new Array(vector().dropFirst());
     }
 
     public Array push(Value value) {
         requireNonNull(value, "value can't be null");
 
-        List<Value> values = new ArrayList<>(elements);
-        values.add(value);
-        return new Array(values);
+        return new Array(vector().append(value));
     }
 
     public Value get(IntegerValue index) {
@@ -70,4 +68,8 @@ public record Array(List<Value> elements) implements Value {
         }
         return elements.get((int) idx);
     }
+
+    private PersistentVector<Value> vector() {
+        return (PersistentVector<Value>) elements;
+    }
 }
@@ -0,0 +1,146 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// large arrays are mapped on the fork-join pool, and again in order once a call has a side effect
+final class ArrayFunctions {
+
+    static final String PARALLEL_THRESHOLD_PROPERTY = "chicago.parallelThreshold";
+
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+
+    private static final int MIN_SLICE = 1024;
+
+    private ArrayFunctions() {
+    }
+
+    static int parallelThreshold() {
+        return Integer.getInteger(PARALLEL_THRESHOLD_PROPERTY, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    static Value map(Caller caller, Array array, Value function) {
+        var input = array.elements().toArray(new Value[0]);
+        var output = new Value[input.length];
+        var error = callAll(caller, function, input, output);
+        return error != null ? error : new Array(Arrays.asList(output));
+    }
+
+    static Value filter(Caller caller, Array array, Value function) {
+        var input = array.elements().toArray(new Value[0]);
+        var output = new Value[input.length];
+        var error = callAll(caller, function, input, output);
+        if (error != null) {
+            return error;
+        }
+        List<Value> kept = new ArrayList<>();
+        for (int i = 0; i < input.length; i++) {
+            if (output[i].isTruthy()) {
+                kept.add(input[i]);
+            }
+        }
+        return new Array(kept);
+    }
+
+    static Value reduce(Caller caller, Array array, Value initial, Value function) {
+        var accumulator = initial;
+        for (Value element : array.elements()) {
+            accumulator = caller.call(function, accumulator, element);
+            if (accumulator.isError()) {
+                return accumulator;
+            }
+        }
+        return accumulator;
+    }
+
+    static boolean isCallable(Value value) {
+        return ValueType.FUNCTION.equals(value.type()) || ValueType.BUILTIN.equals(value.type());
+    }
+
+    // fills output and returns the first error, or null
+    private static Value callAll(Caller caller, Value function, Value[] input, Value[] output) {
+        var fork = input.length >= parallelThreshold() ? caller.forkPure() : null;
+        if (fork != null) {
+            var aborted = new AtomicBoolean();
+            ForkJoinPool.commonPool().invoke(
+                  new CallTask(fork, function, input, output, 0, input.length, sliceSize(input.length), aborted));
+            // every slice is done, so only the rerun below writes to output
+            if (!aborted.get()) {
+                return firstError(output);
+            }
+        }
+        for (int i = 0; i < input.length; i++) {
+            output[i] = caller.call(function, input[i]);
+            if (output[i].isError()) {
+                return output[i];
+            }
+        }
+        return null;
+    }
+
+    private static Value firstError(Value[] output) {
+        // a slice stops at its first error, so no empty slot comes before one
+        for (Value value : output) {
+            if (value.isError()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static int sliceSize(int length) {
+        return Math.max(MIN_SLICE, length / (4 * ForkJoinPool.getCommonPoolParallelism()));
+    }
+
+    private static final class CallTask extends RecursiveAction {
+
+        private final Caller caller;
+        private final Value function;
+        private final Value[] input;
+        private final Value[] output;
+        private final int from;
+        private final int to;
+        private final int sliceSize;
+        private final AtomicBoolean aborted;
+
+        private CallTask(Caller caller, Value function, Value[] input, Value[] output, int from, int to,
+              int sliceSize, AtomicBoolean aborted) {
+            this.caller = requireNonNull(caller, "caller can't be null");
+            this.function = function;
+            this.input = input;
+            this.output = output;
+            this.from = from;
+            this.to = to;
+            this.sliceSize = sliceSize;
+            this.aborted = aborted;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > sliceSize) {
+                var middle = (from + to) >>> 1;
+                invokeAll(new CallTask(caller, function, input, output, from, middle, sliceSize, aborted),
+                      new CallTask(caller, function, input, output, middle, to, sliceSize, aborted));
+                return;
+            }
+            var worker = caller.forkPure();
+            try {
+                for (int i = from; i < to && !aborted.get(); i++) {
+                    output[i] = worker.call(function, input[i]);
+                    if (output[i].isError()) {
+                        return;
+                    }
+                }
+            } catch (SideEffectException ex) {
+                aborted.set(true);
+            }
+        }
+    }
+
+}
@@ -10,6 +10,7 @@ public record ArrayLiteral(Token token, List<Expression> elements) implements Ex
     public ArrayLiteral {
         Objects.requireNonNull(token, "token can't be null");
         Objects.requireNonNull(elements, "elements can't be null");
+        elements = List.copyOf(elements);
     }
 
     @Override
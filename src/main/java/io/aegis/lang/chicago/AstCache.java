@@ -0,0 +1,158 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+// parsed programs kept on disk in AstFormat, one file per source digest
+public final class AstCache {
+
+    private static final String EXTENSION = ".ast";
+    // a mapping is only released when its buffer is collected, which costs more than reading a small file
+    private static final long MAP_THRESHOLD = 64 * 1024;
+
+    private final Path directory;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+
+    public AstCache(Path directory) {
+        requireNonNull(directory, "directory can't be null");
+
+        try {
+            this.directory = Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Can't create the cache directory " + directory, ex);
+        }
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    public Program program(String source) {
+        return program(source, BuiltinRegistry.STANDARD);
+    }
+
+    public Program program(String source, BuiltinRegistry builtins) {
+        requireNonNull(source, "source can't be null");
+        requireNonNull(builtins, "builtins can't be null");
+
+        var digest = digest(source);
+        var file = file(digest);
+        var cached = load(file, digest);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return new Resolver(builtins).resolve(cached);
+        }
+        misses.incrementAndGet();
+        var parser = new Parser(source, builtins);
+        var program = parser.parseProgram();
+        if (parser.foundErrors()) {
+            throw new ParserException(parser.errors());
+        }
+        store(file, AstFormat.write(program, digest));
+        return program;
+    }
+
+    public boolean invalidate(String source) {
+        requireNonNull(source, "source can't be null");
+
+        try {
+            return Files.deleteIfExists(file(digest(source)));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(hits.get(), misses.get(), rejections.get());
+    }
+
+    Path file(String source) {
+        return file(digest(source));
+    }
+
+    private Path file(byte[] digest) {
+        return directory.resolve(HexFormat.of().formatHex(digest) + EXTENSION);
+    }
+
+    private Program load(Path file, byte[] digest) {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var size = channel.size();
+            Program program = null;
+            if (size >= MAP_THRESHOLD && size <= Integer.MAX_VALUE) {
+                program = AstFormat.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), digest);
+            } else if (size >= AstFormat.HEADER_SIZE && size < MAP_THRESHOLD) {
+                var buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // the file may be read in several chunks
+                }
+                program = AstFormat.read(buffer.flip(), digest);
+            }
+            if (program == null) {
+                rejections.incrementAndGet();
+            }
+            return program;
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            rejections.incrementAndGet();
+            return null;
+        }
+    }
+
+    private void store(Path file, byte[] bytes) {
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.write(temporary, bytes);
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            // the next process parses the source again
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignored) {
+                    // nothing more to do
+                }
+            }
+        }
+    }
+
+    private static byte[] digest(String source) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    // rejections are counted as misses too
+    public record Stats(long hits, long misses, long rejections) {
+
+        public double hitRate() {
+            var requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+}
@@ -0,0 +1,441 @@
+package io.aegis.lang.chicago;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// header "CHST", version, source digest, CRC-32 and size, then strings, tokens and statements
+final class AstFormat {
+
+    // bump on any change to the encoding, including the order of TokenType
+    static final int VERSION = 1;
+
+    private static final int MAGIC = 0x43485354;
+    static final int DIGEST_SIZE = 32;
+    static final int HEADER_SIZE = 4 + 2 + DIGEST_SIZE + 4 + 4;
+
+    private static final int ABSENT = 0;
+    private static final int LET = 1;
+    private static final int RETURN = 2;
+    private static final int EXPRESSION_STATEMENT = 3;
+    private static final int BLOCK = 4;
+    private static final int IDENTIFIER = 5;
+    private static final int INTEGER = 6;
+    private static final int BOOLEAN = 7;
+    private static final int STRING = 8;
+    private static final int PREFIX = 9;
+    private static final int INFIX = 10;
+    private static final int IF = 11;
+    private static final int FUNCTION = 12;
+    private static final int CALL = 13;
+    private static final int ARRAY = 14;
+    private static final int INDEX = 15;
+    private static final int DICTIONARY = 16;
+
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+    private AstFormat() {
+    }
+
+    static byte[] write(Program program, byte[] digest) {
+        if (digest.length != DIGEST_SIZE) {
+            throw new IllegalArgumentException("digest must have " + DIGEST_SIZE + " bytes, but has " + digest.length);
+        }
+        var nodes = new Writer();
+        nodes.writeStatements(program.statements());
+        var tokens = new Output();
+        tokens.writeVarint(nodes.tokens.size());
+        for (Token token : nodes.tokens) {
+            tokens.writeVarint(token.type().ordinal());
+            tokens.writeVarint(nodes.string(token.literal()));
+        }
+        var payload = new Output();
+        payload.writeVarint(nodes.strings.size());
+        for (String string : nodes.strings) {
+            var bytes = string.getBytes(StandardCharsets.UTF_8);
+            payload.writeVarint(bytes.length);
+            payload.writeBytes(bytes);
+        }
+        payload.writeBytes(tokens.toByteArray());
+        payload.writeBytes(nodes.out.toByteArray());
+        var payloadBytes = payload.toByteArray();
+        var crc = new CRC32();
+        crc.update(payloadBytes);
+
+        var buffer = ByteBuffer.allocate(HEADER_SIZE + payloadBytes.length);
+        buffer.putInt(MAGIC);
+        buffer.putShort((short) VERSION);
+        buffer.put(digest);
+        buffer.putInt((int) crc.getValue());
+        buffer.putInt(payloadBytes.length);
+        buffer.put(payloadBytes);
+        return buffer.array();
+    }
+
+    // null when buffer holds no valid program of this version for the source
+    static Program read(ByteBuffer buffer, byte[] digest) {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                return null;
+            }
+            var storedDigest = new byte[DIGEST_SIZE];
+            buffer.get(storedDigest);
+            if (!Arrays.equals(storedDigest, digest)) {
+                return null;
+            }
+            var checksum = buffer.getInt();
+            var size = buffer.getInt();
+            if (size != buffer.remaining()) {
+                return null;
+            }
+            var payload = buffer.slice();
+            var crc = new CRC32();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                return null;
+            }
+            return new Reader(payload).readProgram();
+        } catch (BufferUnderflowException | FormatException ex) {
+            // written by a broken writer, so parse again
+            return null;
+        }
+    }
+
+    private static final class Output extends ByteArrayOutputStream {
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+    }
+
+    private static final class Writer {
+
+        private final Output out = new Output();
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private final List<Token> tokens = new ArrayList<>();
+        private final Map<Token, Integer> tokenIndexes = new HashMap<>();
+
+        private void writeStatements(List<Statement> statements) {
+            out.writeVarint(statements.size());
+            for (Statement statement : statements) {
+                writeNode(statement);
+            }
+        }
+
+        private void writeExpressions(List<Expression> expressions) {
+            out.writeVarint(expressions.size());
+            for (Expression expression : expressions) {
+                writeNode(expression);
+            }
+        }
+
+        private void writeNode(Node node) {
+            if (node == null) {
+                out.write(ABSENT);
+            } else if (node instanceof LetStatement letStmt) {
+                out.write(LET);
+                writeToken(letStmt.token());
+                writeNode(letStmt.name());
+                writeNode(letStmt.value());
+            } else if (node instanceof ReturnStatement returnStmt) {
+                out.write(RETURN);
+                writeToken(returnStmt.token());
+                writeNode(returnStmt.returnValue());
+            } else if (node instanceof ExpressionStatement exprStmt) {
+                out.write(EXPRESSION_STATEMENT);
+                writeToken(exprStmt.token());
+                writeNode(exprStmt.expression());
+            } else if (node instanceof BlockStatement block) {
+                out.write(BLOCK);
+                writeToken(block.token());
+                writeStatements(block.statements());
+            } else if (node instanceof Identifier identifier) {
+                out.write(IDENTIFIER);
+                writeToken(identifier.token());
+                writeString(identifier.value());
+            } else if (node instanceof IntegerLiteral integer) {
+                out.write(INTEGER);
+                writeToken(integer.token());
+                out.writeVarint((integer.value() << 1) ^ (integer.value() >> 63));
+            } else if (node instanceof BooleanLiteral booleanLiteral) {
+                out.write(BOOLEAN);
+                writeToken(booleanLiteral.token());
+                out.write(booleanLiteral.value() ? 1 : 0);
+            } else if (node instanceof StringLiteral stringLiteral) {
+                out.write(STRING);
+                writeToken(stringLiteral.token());
+                writeString(stringLiteral.value());
+            } else if (node instanceof PrefixExpression prefix) {
+                out.write(PREFIX);
+                writeToken(prefix.token());
+                writeString(prefix.operator());
+                writeNode(prefix.right());
+            } else if (node instanceof InfixExpression infix) {
+                out.write(INFIX);
+                writeToken(infix.token());
+                writeNode(infix.left());
+                writeString(infix.operator());
+                writeNode(infix.right());
+            } else if (node instanceof IfExpression ifExpression) {
+                out.write(IF);
+                writeToken(ifExpression.token());
+                writeNode(ifExpression.condition());
+                writeNode(ifExpression.consequence());
+                writeNode(ifExpression.alternative());
+            } else if (node instanceof FunctionLiteral fn) {
+                out.write(FUNCTION);
+                writeToken(fn.token());
+                out.writeVarint(fn.parameters().size());
+                for (Identifier parameter : fn.parameters()) {
+                    writeNode(parameter);
+                }
+                writeNode(fn.body());
+            } else if (node instanceof CallExpression call) {
+                out.write(CALL);
+                writeToken(call.token());
+                writeNode(call.function());
+                writeExpressions(call.arguments());
+            } else if (node instanceof ArrayLiteral arrayLiteral) {
+                out.write(ARRAY);
+                writeToken(arrayLiteral.token());
+                writeExpressions(arrayLiteral.elements());
+            } else if (node instanceof IndexExpression indexExpr) {
+                out.write(INDEX);
+                writeToken(indexExpr.token());
+                writeNode(indexExpr.left());
+                writeNode(indexExpr.index());
+            } else if (node instanceof DictionaryLiteral dictionaryLiteral) {
+                out.write(DICTIONARY);
+                writeToken(dictionaryLiteral.token());
+                out.writeVarint(dictionaryLiteral.pairs().size());
+                for (Map.Entry<Expression, Expression> pair : dictionaryLiteral.pairs().entrySet()) {
+                    writeNode(pair.getKey());
+                    writeNode(pair.getValue());
+                }
+            } else {
+                throw new IllegalArgumentException("Can't serialize " + node.getClass().getSimpleName());
+            }
+        }
+
+        private void writeToken(Token token) {
+            var index = tokenIndexes.get(token);
+            if (index == null) {
+                index = tokens.size();
+                tokens.add(token);
+                tokenIndexes.put(token, index);
+            }
+            out.writeVarint(index);
+        }
+
+        private void writeString(String string) {
+            out.writeVarint(string(string));
+        }
+
+        private int string(String string) {
+            var index = stringIndexes.get(string);
+            if (index == null) {
+                index = strings.size();
+                strings.add(string);
+                stringIndexes.put(string, index);
+            }
+            return index;
+        }
+    }
+
+    private static final class Reader {
+
+        private static final int STATEMENTS = bit(LET) | bit(RETURN) | bit(EXPRESSION_STATEMENT) | bit(BLOCK);
+        private static final int EXPRESSIONS = bit(IDENTIFIER) | bit(INTEGER) | bit(BOOLEAN) | bit(STRING)
+              | bit(PREFIX) | bit(INFIX) | bit(IF) | bit(FUNCTION) | bit(CALL) | bit(ARRAY) | bit(INDEX)
+              | bit(DICTIONARY);
+
+        private final ByteBuffer in;
+        private final String[] strings;
+        private final Token[] tokens;
+
+        private Reader(ByteBuffer in) {
+            this.in = in;
+            this.strings = new String[count()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readUtf8(count());
+            }
+            this.tokens = new Token[count()];
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = new Token(TOKEN_TYPES[index(TOKEN_TYPES.length)], readString());
+            }
+        }
+
+        private Program readProgram() {
+            var program = new Program(readStatements());
+            if (in.hasRemaining()) {
+                throw new FormatException();
+            }
+            return program;
+        }
+
+        private List<Statement> readStatements() {
+            var count = count();
+            List<Statement> statements = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                statements.add((Statement) readNode(STATEMENTS));
+            }
+            return statements;
+        }
+
+        private List<Expression> readExpressions() {
+            var count = count();
+            List<Expression> expressions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                expressions.add(expression());
+            }
+            return expressions;
+        }
+
+        private Expression expression() {
+            return (Expression) readNode(EXPRESSIONS);
+        }
+
+        // the parser leaves these out of some statements and of an if without else
+        private Expression optionalExpression() {
+            return (Expression) readNode(EXPRESSIONS | bit(ABSENT));
+        }
+
+        private Identifier identifier() {
+            return (Identifier) readNode(bit(IDENTIFIER));
+        }
+
+        private BlockStatement block() {
+            return (BlockStatement) readNode(bit(BLOCK));
+        }
+
+        // expected holds a bit per allowed tag; ABSENT reads as null
+        private Node readNode(int expected) {
+            var tag = in.get();
+            if (tag < 0 || tag >= Integer.SIZE || (expected & bit(tag)) == 0) {
+                throw new FormatException();
+            }
+            if (tag == ABSENT) {
+                return null;
+            }
+            var token = readToken();
+            return switch (tag) {
+                case LET -> new LetStatement(token, identifier(), optionalExpression());
+                case RETURN -> new ReturnStatement(token, optionalExpression());
+                case EXPRESSION_STATEMENT -> new ExpressionStatement(token, optionalExpression());
+                case BLOCK -> new BlockStatement(token, readStatements());
+                case IDENTIFIER -> new Identifier(token, readString());
+                case INTEGER -> {
+                    var zigzag = readVarint();
+                    yield new IntegerLiteral(token, (zigzag >>> 1) ^ -(zigzag & 1));
+                }
+                case BOOLEAN -> new BooleanLiteral(token, in.get() != 0);
+                case STRING -> new StringLiteral(token, readString());
+                case PREFIX -> new PrefixExpression(token, readString(), expression());
+                case INFIX -> new InfixExpression(token, expression(), readString(), expression());
+                case IF -> new IfExpression(token, expression(), block(), optionalBlock());
+                case FUNCTION -> {
+                    var count = count();
+                    List<Identifier> parameters = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        parameters.add(identifier());
+                    }
+                    yield new FunctionLiteral(token, parameters, block());
+                }
+                case CALL -> new CallExpression(token, expression(), readExpressions());
+                case ARRAY -> new ArrayLiteral(token, readExpressions());
+                case INDEX -> new IndexExpression(token, expression(), expression());
+                case DICTIONARY -> {
+                    var count = count();
+                    Map<Expression, Expression> pairs = new LinkedHashMap<>();
+                    for (int i = 0; i < count; i++) {
+                        pairs.put(expression(), expression());
+                    }
+                    yield new DictionaryLiteral(token, pairs);
+                }
+                default -> throw new FormatException();
+            };
+        }
+
+        private BlockStatement optionalBlock() {
+            return (BlockStatement) readNode(bit(BLOCK) | bit(ABSENT));
+        }
+
+        private Token readToken() {
+            return tokens[index(tokens.length)];
+        }
+
+        private String readString() {
+            return strings[index(strings.length)];
+        }
+
+        private String readUtf8(int length) {
+            if (length > in.remaining()) {
+                throw new FormatException();
+            }
+            String string;
+            if (in.hasArray()) {
+                string = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            } else {
+                var bytes = new byte[length];
+                in.get(in.position(), bytes);
+                string = new String(bytes, StandardCharsets.UTF_8);
+            }
+            in.position(in.position() + length);
+            return string;
+        }
+
+        // every element takes at least a byte, so a count can't exceed the bytes left
+        private int count() {
+            var value = readVarint();
+            if (value < 0 || value > in.remaining()) {
+                throw new FormatException();
+            }
+            return (int) value;
+        }
+
+        private int index(int size) {
+            var value = readVarint();
+            if (value < 0 || value >= size) {
+                throw new FormatException();
+            }
+            return (int) value;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                var b = in.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new FormatException();
+        }
+
+        private static int bit(int tag) {
+            return 1 << tag;
+        }
+    }
+
+    private static final class FormatException extends RuntimeException {
+
+        private FormatException() {
+            super(null, null, false, false);
+        }
+    }
+
+}
@@ -0,0 +1,16 @@
+package io.aegis.lang.chicago;
+
+@FunctionalInterface
+public interface BinaryBuiltin extends BuiltinFunction {
+
+    Value apply(Value first, Value second);
+
+    @Override
+    default Value apply(Value... args) {
+        if (args.length != 2) {
+            return new Error("Wrong number of arguments. Expected 2, but got " + args.length);
+        }
+        return apply(args[0], args[1]);
+    }
+
+}
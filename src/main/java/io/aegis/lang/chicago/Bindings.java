@@ -0,0 +1,32 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class Bindings {
+
+    private final Map<String, Value> values = new LinkedHashMap<>();
+
+    public static Bindings of(Map<String, ?> hostValues) {
+        requireNonNull(hostValues, "hostValues can't be null");
+
+        var bindings = new Bindings();
+        hostValues.forEach(bindings::put);
+        return bindings;
+    }
+
+    public Bindings put(String name, Object hostValue) {
+        requireNonNull(name, "name can't be null");
+
+        values.put(name, HostValues.toValue(hostValue));
+        return this;
+    }
+
+    public Map<String, Value> values() {
+        return Collections.unmodifiableMap(values);
+    }
+
+}
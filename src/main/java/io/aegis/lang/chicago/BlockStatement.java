@@ -9,6 +9,7 @@ public record BlockStatement(Token token, List<Statement> statements)
     public BlockStatement {
         Objects.requireNonNull(token, "token can't be null");
         Objects.requireNonNull(statements, "statements can't be null");
+        statements = List.copyOf(statements);
     }
 
     @Override
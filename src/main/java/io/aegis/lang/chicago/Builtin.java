@@ -2,10 +2,46 @@ package io.aegis.lang.chicago;
 
 import java.util.Objects;
 
-public record Builtin(BuiltinFunction function) implements Value {
+// calls with the declared arity, up to three, go to the fixed-arity interface when there is one
+public record Builtin(String name, int arity, boolean sideEffects, BuiltinFunction function) implements Value {
+
+    public static final int VARIADIC = -1;
+
+    static final int MAX_FIXED_ARITY = 3;
 
     public Builtin {
+        Objects.requireNonNull(name, "name can't be null");
         Objects.requireNonNull(function, "function can't be null");
+        if (arity < VARIADIC) {
+            throw new IllegalArgumentException("arity must be VARIADIC or not negative, but got " + arity);
+        }
+    }
+
+    boolean hasFixedArity(int argumentCount) {
+        return arity == argumentCount && arity > 0 && arity <= MAX_FIXED_ARITY;
+    }
+
+    Value apply(Caller caller, Value... arguments) {
+        if (arity != VARIADIC && arguments.length != arity) {
+            return new Error("Wrong number of arguments. Expected " + arity + ", but got " + arguments.length);
+        }
+        return function.apply(caller, arguments);
+    }
+
+    Value apply(Caller caller, Value argument) {
+        return function instanceof UnaryBuiltin unary ? unary.apply(argument) : function.apply(caller, argument);
+    }
+
+    Value apply(Caller caller, Value first, Value second) {
+        return function instanceof BinaryBuiltin binary
+              ? binary.apply(first, second)
+              : function.apply(caller, first, second);
+    }
+
+    Value apply(Caller caller, Value first, Value second, Value third) {
+        return function instanceof TernaryBuiltin ternary
+              ? ternary.apply(first, second, third)
+              : function.apply(caller, first, second, third);
     }
 
     @Override
@@ -22,5 +58,5 @@ public record Builtin(BuiltinFunction function) implements Value {
     public boolean isTruthy() {
         return true;
     }
-    
+
 }
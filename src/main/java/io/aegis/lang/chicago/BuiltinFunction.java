@@ -4,4 +4,9 @@ public interface BuiltinFunction {
     
     Value apply(Value... t);
 
+    // caller lets the builtin call back into the script
+    default Value apply(Caller caller, Value... args) {
+        return apply(args);
+    }
+
 }
@@ -1,122 +1,152 @@
 package io.aegis.lang.chicago;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+final class BuiltinFunctions {
 
-class BuiltinFunctions {
-
-    private final Map<String, Builtin> functionMap = new HashMap<>();
-
-    BuiltinFunctions() {
-        functionMap.put("len", len());
-        functionMap.put("first", first());
-        functionMap.put("last", last());
-        functionMap.put("tail", tail());
-        functionMap.put("push", push());
-        functionMap.put("print", print());
+    private BuiltinFunctions() {
     }
 
-    Value get(String name) {
-        Objects.requireNonNull(name, "name can't be null");
-
-        Value function = functionMap.get(name);
-        if (function == null) {
-            return NullValue.get();
-        }
-        return function;
+    static void registerAll(BuiltinRegistry registry) {
+        registry.registerPure("len", len())
+              .registerPure("first", first())
+              .registerPure("last", last())
+              .registerPure("tail", tail())
+              .registerPure("push", push())
+              .register("print", Builtin.VARIADIC, print())
+              .registerPure("put", put())
+              .registerPure("delete", delete())
+              .registerPure("keys", keys())
+              .registerPure("values", values())
+              .registerPure("map", 2, map())
+              .registerPure("filter", 2, filter())
+              .registerPure("reduce", 3, reduce());
     }
 
-    private static Builtin len() {
-        return new Builtin(args -> {
-            if (args == null) {
-                return new Error("Wrong number of arguments. Expected 1, but got nothing");
-            }
-            if (args.length != 1) {
-                return new Error("Wrong number of arguments. Expected 1, but got " + args.length);
-            }
-            var arg = args[0];
+    private static UnaryBuiltin len() {
+        return arg -> {
             if (arg.is(StringValue.class)) {
-                return new IntegerValue(arg.as(StringValue.class).value().length());
+                return IntegerValue.of(arg.as(StringValue.class).length());
             } else if (arg.is(Array.class)) {
-                return new IntegerValue(arg.as(Array.class).size());
+                return IntegerValue.of(arg.as(Array.class).size());
             }
             return new Error("Argument to 'len' not supported, got " + arg.type());
-        });
+        };
     }
 
-    private static Builtin first() {
-        return new Builtin(args -> {
-            if (args == null) {
-                return new Error("Wrong number of arguments. Expected 1, but got nothing");
-            }
-            if (args.length != 1) {
-                return new Error("Wrong number of arguments. Expected 1, but got " + args.length);
-            }
-            var arg = args[0];
+    private static UnaryBuiltin first() {
+        return arg -> {
             if (arg.isNot(Array.class)) {
                 return new Error("Argument to 'first' must be ARRAY, but got " + arg.type());
             }
             return arg.as(Array.class).first();
-        });
+        };
     }
 
-    private static Builtin last() {
-        return new Builtin(args -> {
-            if (args == null) {
-                return new Error("Wrong number of arguments. Expected 1, but got nothing");
-            }
-            if (args.length != 1) {
-                return new Error("Wrong number of arguments. Expected 1, but got " + args.length);
-            }
-            var arg = args[0];
+    private static UnaryBuiltin last() {
+        return arg -> {
             if (arg.isNot(Array.class)) {
                 return new Error("Argument to 'last' must be ARRAY, but got " + arg.type());
             }
             return arg.as(Array.class).last();
-        });
+        };
     }
 
-    private static Builtin tail() {
-        return new Builtin(args -> {
-            if (args == null) {
-                return new Error("Wrong number of arguments. Expected 1, but got nothing");
-            }
-            if (args.length != 1) {
-                return new Error("Wrong number of arguments. Expected 1, but got " + args.length);
-            }
-            var arg = args[0];
+    private static UnaryBuiltin tail() {
+        return arg -> {
             if (arg.isNot(Array.class)) {
                 return new Error("Argument to 'rest' must be ARRAY, but got " + arg.type());
             }
             return arg.as(Array.class).tail();
-        });
+        };
     }
 
-    private static Builtin push() {
-        return new Builtin(args -> {
-            if (args == null) {
-                return new Error("Wrong number of arguments. Expected 2, but got nothing");
-            }
-            if (args.length != 2) {
-                return new Error("Wrong number of arguments. Expected 2, but got " + args.length);
-            }
-            var arrayArg = args[0];
+    private static BinaryBuiltin push() {
+        return (arrayArg, elemArg) -> {
             if (arrayArg.isNot(Array.class)) {
                 return new Error("First argument to 'push' must be ARRAY, but got " + arrayArg.type());
             }
-            var elemArg = args[1];
             return arrayArg.as(Array.class).push(elemArg);
-        });
+        };
     }
 
-    private static Builtin print() {
-        return new Builtin(args -> {
+    private static BuiltinFunction print() {
+        return args -> {
             for (Value arg : args) {
                 System.out.println(arg.inspect());
             }
             return NullValue.get();
-        });
+        };
+    }
+
+    private static TernaryBuiltin put() {
+        return (dictionaryArg, key, value) -> {
+            if (dictionaryArg.isNot(Dictionary.class)) {
+                return new Error("First argument to 'put' must be DICTIONARY, but got " + dictionaryArg.type());
+            }
+            return dictionaryArg.as(Dictionary.class).put(key, value);
+        };
+    }
+
+    private static BinaryBuiltin delete() {
+        return (dictionaryArg, key) -> {
+            if (dictionaryArg.isNot(Dictionary.class)) {
+                return new Error("First argument to 'delete' must be DICTIONARY, but got " + dictionaryArg.type());
+            }
+            return dictionaryArg.as(Dictionary.class).delete(key);
+        };
+    }
+
+    private static UnaryBuiltin keys() {
+        return arg -> {
+            if (arg.isNot(Dictionary.class)) {
+                return new Error("Argument to 'keys' must be DICTIONARY, but got " + arg.type());
+            }
+            return arg.as(Dictionary.class).keys();
+        };
+    }
+
+    private static UnaryBuiltin values() {
+        return arg -> {
+            if (arg.isNot(Dictionary.class)) {
+                return new Error("Argument to 'values' must be DICTIONARY, but got " + arg.type());
+            }
+            return arg.as(Dictionary.class).values();
+        };
+    }
+
+    private static BuiltinFunction map() {
+        return (HigherOrderFunction) (caller, args) -> {
+            var error = checkArrayAndFunction("map", args);
+            return error != null ? error : ArrayFunctions.map(caller, args[0].as(Array.class), args[1]);
+        };
+    }
+
+    private static BuiltinFunction filter() {
+        return (HigherOrderFunction) (caller, args) -> {
+            var error = checkArrayAndFunction("filter", args);
+            return error != null ? error : ArrayFunctions.filter(caller, args[0].as(Array.class), args[1]);
+        };
+    }
+
+    private static BuiltinFunction reduce() {
+        return (HigherOrderFunction) (caller, args) -> {
+            if (args[0].isNot(Array.class)) {
+                return new Error("First argument to 'reduce' must be ARRAY, but got " + args[0].type());
+            }
+            if (!ArrayFunctions.isCallable(args[2])) {
+                return new Error("Third argument to 'reduce' must be FUNCTION, but got " + args[2].type());
+            }
+            return ArrayFunctions.reduce(caller, args[0].as(Array.class), args[1], args[2]);
+        };
+    }
+
+    private static Error checkArrayAndFunction(String name, Value[] args) {
+        if (args[0].isNot(Array.class)) {
+            return new Error("First argument to '" + name + "' must be ARRAY, but got " + args[0].type());
+        }
+        if (!ArrayFunctions.isCallable(args[1])) {
+            return new Error("Second argument to '" + name + "' must be FUNCTION, but got " + args[1].type());
+        }
+        return null;
     }
 
 }
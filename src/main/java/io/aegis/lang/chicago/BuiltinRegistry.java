@@ -0,0 +1,110 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// frozen once a parser, compiler or ScriptCache takes it
+public final class BuiltinRegistry {
+
+    // GET_BUILTIN has a one-byte operand
+    static final int MAX_BUILTINS = 256;
+
+    static final BuiltinRegistry STANDARD = standard().freeze();
+
+    private final Map<String, Integer> indexMap = new HashMap<>();
+    private final List<Builtin> builtins = new ArrayList<>();
+    private volatile boolean frozen;
+
+    public static BuiltinRegistry standard() {
+        var registry = new BuiltinRegistry();
+        BuiltinFunctions.registerAll(registry);
+        return registry;
+    }
+
+    public BuiltinRegistry register(String name, UnaryBuiltin function) {
+        return add(new Builtin(name, 1, true, function));
+    }
+
+    public BuiltinRegistry register(String name, BinaryBuiltin function) {
+        return add(new Builtin(name, 2, true, function));
+    }
+
+    public BuiltinRegistry register(String name, TernaryBuiltin function) {
+        return add(new Builtin(name, 3, true, function));
+    }
+
+    // arity is the exact argument count, or Builtin.VARIADIC
+    public BuiltinRegistry register(String name, int arity, BuiltinFunction function) {
+        return add(new Builtin(name, arity, true, function));
+    }
+
+    // map and filter may call these from several threads at once
+    public BuiltinRegistry registerPure(String name, UnaryBuiltin function) {
+        return add(new Builtin(name, 1, false, function));
+    }
+
+    public BuiltinRegistry registerPure(String name, BinaryBuiltin function) {
+        return add(new Builtin(name, 2, false, function));
+    }
+
+    public BuiltinRegistry registerPure(String name, TernaryBuiltin function) {
+        return add(new Builtin(name, 3, false, function));
+    }
+
+    public BuiltinRegistry registerPure(String name, int arity, BuiltinFunction function) {
+        return add(new Builtin(name, arity, false, function));
+    }
+
+    public boolean contains(String name) {
+        requireNonNull(name, "name can't be null");
+
+        return indexMap.containsKey(name);
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    BuiltinRegistry freeze() {
+        frozen = true;
+        return this;
+    }
+
+    Builtin get(String name) {
+        requireNonNull(name, "name can't be null");
+
+        var index = indexMap.get(name);
+        return index == null ? null : builtins.get(index);
+    }
+
+    int indexOf(String name) {
+        requireNonNull(name, "name can't be null");
+
+        return indexMap.getOrDefault(name, -1);
+    }
+
+    Builtin[] toArray() {
+        return builtins.toArray(new Builtin[0]);
+    }
+
+    private BuiltinRegistry add(Builtin builtin) {
+        if (frozen) {
+            throw new IllegalStateException("Can't register '" + builtin.name() + "' in a registry already in use");
+        }
+        var index = indexMap.get(builtin.name());
+        if (index != null) {
+            builtins.set(index, builtin);
+        } else if (builtins.size() == MAX_BUILTINS) {
+            throw new IllegalStateException("A registry can't hold more than " + MAX_BUILTINS + " builtins");
+        } else {
+            indexMap.put(builtin.name(), builtins.size());
+            builtins.add(builtin);
+        }
+        return this;
+    }
+
+}
@@ -0,0 +1,27 @@
+package io.aegis.lang.chicago;
+
+import java.util.Objects;
+
+// builtins in the order GET_BUILTIN indexes them
+public record Bytecode(CompiledFunction main, Value[] constants, String[] globalNames, Builtin[] builtins) {
+
+    public Bytecode {
+        Objects.requireNonNull(main, "main can't be null");
+        Objects.requireNonNull(constants, "constants can't be null");
+        Objects.requireNonNull(globalNames, "globalNames can't be null");
+        Objects.requireNonNull(builtins, "builtins can't be null");
+    }
+
+    public byte[] instructions() {
+        return main.instructions();
+    }
+
+    public int globalCount() {
+        return globalNames.length;
+    }
+
+    @Override
+    public String toString() {
+        return Opcode.disassemble(instructions());
+    }
+}
@@ -5,13 +5,36 @@ import static java.util.stream.Collectors.joining;
 import java.util.List;
 import java.util.Objects;
 
-public record CallExpression(Token token, Expression function, List<Expression> arguments)
-      implements Expression {
+public final class CallExpression implements Expression {
 
-    public CallExpression {
+    private final Token token;
+    private final Expression function;
+    private final List<Expression> arguments;
+    private final CallSite site = new CallSite();
+
+    public CallExpression(Token token, Expression function, List<Expression> arguments) {
         Objects.requireNonNull(token, "token can't be null");
         Objects.requireNonNull(function, "function can't be null");
         Objects.requireNonNull(arguments, "arguments can't be null");
+        this.token = token;
+        this.function = function;
+        this.arguments = List.copyOf(arguments);
+    }
+
+    public Token token() {
+        return token;
+    }
+
+    public Expression function() {
+        return function;
+    }
+
+    public List<Expression> arguments() {
+        return arguments;
+    }
+
+    CallSite site() {
+        return site;
     }
 
     @Override
@@ -19,6 +42,19 @@ public record CallExpression(Token token, Expression function, List<Expression>
         return token.literal();
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof CallExpression other
+              && token.equals(other.token)
+              && function.equals(other.function)
+              && arguments.equals(other.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(token, function, arguments);
+    }
+
     @Override
     public String toString() {
         return new StringBuilder()
@@ -0,0 +1,78 @@
+package io.aegis.lang.chicago;
+
+// the callee a global name resolved to and up to POLYMORPHIC_LIMIT literals called from here
+final class CallSite {
+
+    static final int POLYMORPHIC_LIMIT = 4;
+
+    private Callee callee;
+    private Target targets;
+    private boolean megamorphic;
+
+    Value callee(Environment scope) {
+        var cached = callee;
+        if (cached != null && cached.scope() == scope && cached.version() == scope.version()) {
+            return cached.value();
+        }
+        return null;
+    }
+
+    // true when owner has to forget the callee later
+    boolean rememberCallee(Object owner, Environment scope, int version, Value value) {
+        if (!scope.isVersioned()) {
+            return false;
+        }
+        var previous = callee;
+        callee = new Callee(owner, scope, version, value);
+        return previous == null || previous.owner() != owner;
+    }
+
+    void forgetCallee(Object owner) {
+        var cached = callee;
+        if (cached != null && cached.owner() == owner) {
+            callee = null;
+        }
+    }
+
+    Target target(FunctionLiteral literal) {
+        var head = targets;
+        var count = 0;
+        for (var target = head; target != null; target = target.next()) {
+            if (target.literal() == literal) {
+                return target;
+            }
+            count++;
+        }
+        if (megamorphic || count == POLYMORPHIC_LIMIT) {
+            megamorphic = true;
+            return Target.of(literal, null);
+        }
+        var target = Target.of(literal, head);
+        targets = target;
+        return target;
+    }
+
+    boolean isMegamorphic() {
+        return megamorphic;
+    }
+
+    private record Callee(Object owner, Environment scope, int version, Value value) {
+    }
+
+    // slots is null for an unresolved literal, whose arguments are bound by name
+    record Target(FunctionLiteral literal, int arity, int[] slots, Target next) {
+
+        static Target of(FunctionLiteral literal, Target next) {
+            var parameters = literal.parameters();
+            int[] slots = null;
+            if (literal.isResolved()) {
+                slots = new int[parameters.size()];
+                for (int i = 0; i < slots.length; i++) {
+                    slots[i] = parameters.get(i).coordinate().slot();
+                }
+            }
+            return new Target(literal, parameters.size(), slots, next);
+        }
+    }
+
+}
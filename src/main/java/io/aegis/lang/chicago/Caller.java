@@ -0,0 +1,11 @@
+package io.aegis.lang.chicago;
+
+// failed calls come back as Error values
+public interface Caller {
+
+    Value call(Value function, Value... arguments);
+
+    // a caller for another thread that refuses side effects, or null
+    Caller forkPure();
+
+}
@@ -0,0 +1,8 @@
+package io.aegis.lang.chicago;
+
+// shared by the frame of a local and every closure that captured it
+final class Cell {
+
+    Value value;
+
+}
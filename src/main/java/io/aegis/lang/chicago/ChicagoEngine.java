@@ -0,0 +1,53 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+public final class ChicagoEngine {
+
+    public enum Backend {
+        EVALUATOR,
+        VIRTUAL_MACHINE,
+        CLOSURE_COMPILER
+    }
+
+    private final Backend backend;
+    private final ScriptCache cache;
+    private final Limits limits;
+
+    public ChicagoEngine() {
+        this(Backend.EVALUATOR);
+    }
+
+    public ChicagoEngine(Backend backend) {
+        this(backend, new ScriptCache());
+    }
+
+    public ChicagoEngine(Backend backend, ScriptCache cache) {
+        this(backend, cache, Limits.NONE);
+    }
+
+    public ChicagoEngine(Backend backend, ScriptCache cache, Limits limits) {
+        requireNonNull(backend, "backend can't be null");
+        requireNonNull(cache, "cache can't be null");
+        requireNonNull(limits, "limits can't be null");
+
+        this.backend = backend;
+        this.cache = cache;
+        this.limits = limits;
+    }
+
+    public Script compile(String source) {
+        requireNonNull(source, "source can't be null");
+
+        return cache.script(source, backend, limits);
+    }
+
+    public Backend backend() {
+        return backend;
+    }
+
+    public Limits limits() {
+        return limits;
+    }
+
+}
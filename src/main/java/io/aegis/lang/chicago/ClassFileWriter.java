@@ -0,0 +1,495 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// just enough for the JIT: int, long and reference values, with a full stack map frame at every label
+final class ClassFileWriter {
+
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_STATIC = 0x0008;
+    static final int ACC_FINAL = 0x0010;
+    static final int ACC_SUPER = 0x0020;
+
+    static final int NOP = 0x00;
+    static final int ICONST_0 = 0x03;
+    static final int LCONST_0 = 0x09;
+    static final int BIPUSH = 0x10;
+    static final int SIPUSH = 0x11;
+    static final int LDC2_W = 0x14;
+    static final int LLOAD = 0x16;
+    static final int ALOAD = 0x19;
+    static final int LALOAD = 0x2f;
+    static final int LSTORE = 0x37;
+    static final int POP = 0x57;
+    static final int POP2 = 0x58;
+    static final int LADD = 0x61;
+    static final int LSUB = 0x65;
+    static final int LMUL = 0x69;
+    static final int LDIV = 0x6d;
+    static final int LNEG = 0x75;
+    static final int IXOR = 0x82;
+    static final int LCMP = 0x94;
+    static final int IFEQ = 0x99;
+    static final int IFNE = 0x9a;
+    static final int IFLT = 0x9b;
+    static final int IFGE = 0x9c;
+    static final int IFGT = 0x9d;
+    static final int IFLE = 0x9e;
+    static final int IF_ICMPEQ = 0x9f;
+    static final int IF_ICMPNE = 0xa0;
+    static final int GOTO = 0xa7;
+    static final int LRETURN = 0xad;
+    static final int RETURN = 0xb1;
+    static final int INVOKESPECIAL = 0xb7;
+    static final int INVOKESTATIC = 0xb8;
+
+    private static final int CLASS_FILE_VERSION = 61;
+
+    private final ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+    private final DataOutputStream constants = new DataOutputStream(constantPool);
+    private final Map<String, Integer> constantIndexes = new HashMap<>();
+    private int constantCount = 1;
+    private final int thisClass;
+    private final int superClass;
+    private final int[] interfaces;
+    private final List<Code> methods = new ArrayList<>();
+
+    ClassFileWriter(String name, String superName, String... interfaceNames) {
+        this.thisClass = classConstant(requireNonNull(name, "name can't be null"));
+        this.superClass = classConstant(requireNonNull(superName, "superName can't be null"));
+        this.interfaces = new int[interfaceNames.length];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaces[i] = classConstant(interfaceNames[i]);
+        }
+    }
+
+    // locals include the receiver and the parameters and keep their types throughout
+    Code method(int access, String name, String descriptor, List<Type> locals) {
+        var code = new Code(access, utf8Constant(name), utf8Constant(descriptor), locals);
+        methods.add(code);
+        return code;
+    }
+
+    byte[] toByteArray() {
+        var codeName = utf8Constant("Code");
+        var frameTableName = utf8Constant("StackMapTable");
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_FILE_VERSION);
+            out.writeShort(constantCount);
+            out.write(constantPool.toByteArray());
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(interfaces.length);
+            for (int index : interfaces) {
+                out.writeShort(index);
+            }
+            out.writeShort(0);
+            out.writeShort(methods.size());
+            for (Code method : methods) {
+                method.write(out, codeName, frameTableName);
+            }
+            out.writeShort(0);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private int utf8Constant(String value) {
+        return constant("U" + value, out -> {
+            out.writeByte(1);
+            out.writeUTF(value);
+        }, 1);
+    }
+
+    private int classConstant(String name) {
+        var nameIndex = utf8Constant(name);
+        return constant("C" + name, out -> {
+            out.writeByte(7);
+            out.writeShort(nameIndex);
+        }, 1);
+    }
+
+    private int methodConstant(String owner, String name, String descriptor) {
+        var ownerIndex = classConstant(owner);
+        var nameIndex = utf8Constant(name);
+        var descriptorIndex = utf8Constant(descriptor);
+        var nameAndType = constant("N" + name + descriptor, out -> {
+            out.writeByte(12);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+        }, 1);
+        return constant("M" + owner + "." + name + descriptor, out -> {
+            out.writeByte(10);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndType);
+        }, 1);
+    }
+
+    private int longConstant(long value) {
+        return constant("J" + value, out -> {
+            out.writeByte(5);
+            out.writeLong(value);
+        }, 2);
+    }
+
+    private int constant(String key, ConstantWriter writer, int size) {
+        var index = constantIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        try {
+            writer.write(constants);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        index = constantCount;
+        constantCount += size;
+        constantIndexes.put(key, index);
+        return index;
+    }
+
+    private interface ConstantWriter {
+
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    enum Type {
+        INT(1, 1),
+        LONG(2, 4),
+        REFERENCE(1, -1);
+
+        private final int size;
+        private final int verificationTag;
+
+        Type(int size, int verificationTag) {
+            this.size = size;
+            this.verificationTag = verificationTag;
+        }
+
+        private static Type of(char descriptor) {
+            return switch (descriptor) {
+                case 'I', 'Z' -> INT;
+                case 'J' -> LONG;
+                default -> REFERENCE;
+            };
+        }
+    }
+
+    static final class Label {
+
+        private int offset = -1;
+        private List<Type> stack;
+        private final List<Integer> jumps = new ArrayList<>();
+    }
+
+    final class Code {
+
+        private final int access;
+        private final int name;
+        private final int descriptor;
+        private final List<Type> locals;
+        private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+        private final List<Label> labels = new ArrayList<>();
+        private final TreeMap<Integer, List<Type>> frames = new TreeMap<>();
+        private List<Type> stack = new ArrayList<>();
+        private int stackSize;
+        private int maxStack;
+
+        private Code(int access, int name, int descriptor, List<Type> locals) {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.locals = List.copyOf(locals);
+        }
+
+        int offset() {
+            return code.size();
+        }
+
+        // false after a return or goto
+        boolean isReachable() {
+            return stack != null;
+        }
+
+        void pushInt(int value) {
+            if (value >= -1 && value <= 5) {
+                emit(ICONST_0 + value);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                emit(BIPUSH);
+                code.write(value);
+            } else {
+                emit(SIPUSH);
+                writeShort(value);
+            }
+            push(Type.INT);
+        }
+
+        void pushLong(long value) {
+            if (value == 0 || value == 1) {
+                emit(LCONST_0 + (int) value);
+            } else {
+                emit(LDC2_W);
+                writeShort(longConstant(value));
+            }
+            push(Type.LONG);
+        }
+
+        void loadLong(int index) {
+            emit(LLOAD);
+            code.write(index);
+            push(Type.LONG);
+        }
+
+        void storeLong(int index) {
+            emit(LSTORE);
+            code.write(index);
+            pop(Type.LONG);
+        }
+
+        void loadReference(int index) {
+            emit(ALOAD);
+            code.write(index);
+            push(Type.REFERENCE);
+        }
+
+        void loadLongElement() {
+            emit(LALOAD);
+            pop(Type.INT);
+            pop(Type.REFERENCE);
+            push(Type.LONG);
+        }
+
+        // LADD, LSUB, LMUL or LDIV
+        void longArithmetic(int opcode) {
+            emit(opcode);
+            pop(Type.LONG);
+            pop(Type.LONG);
+            push(Type.LONG);
+        }
+
+        void negateLong() {
+            emit(LNEG);
+            pop(Type.LONG);
+            push(Type.LONG);
+        }
+
+        void compareLongs() {
+            emit(LCMP);
+            pop(Type.LONG);
+            pop(Type.LONG);
+            push(Type.INT);
+        }
+
+        void xorInts() {
+            emit(IXOR);
+            pop(Type.INT);
+            pop(Type.INT);
+            push(Type.INT);
+        }
+
+        void pop() {
+            var top = stack.get(stack.size() - 1);
+            emit(top == Type.LONG ? POP2 : POP);
+            pop(top);
+        }
+
+        // IFEQ or IFNE on the top int, IF_ICMPEQ or IF_ICMPNE on the top two, or GOTO
+        void jump(int opcode, Label target) {
+            var offset = offset();
+            emit(opcode);
+            writeShort(0);
+            if (opcode == IF_ICMPEQ || opcode == IF_ICMPNE) {
+                pop(Type.INT);
+                pop(Type.INT);
+            } else if (opcode != GOTO) {
+                pop(Type.INT);
+            }
+            target.jumps.add(offset);
+            if (target.stack == null) {
+                target.stack = List.copyOf(stack);
+            } else if (!target.stack.equals(stack)) {
+                throw new IllegalStateException("Operand stack " + stack + " doesn't match " + target.stack);
+            }
+            if (!labels.contains(target)) {
+                labels.add(target);
+            }
+            if (opcode == GOTO) {
+                stack = null;
+            }
+        }
+
+        void bind(Label label) {
+            if (label.offset >= 0) {
+                throw new IllegalStateException("Label is already bound");
+            }
+            label.offset = offset();
+            if (stack == null) {
+                stack = label.stack != null ? new ArrayList<>(label.stack) : new ArrayList<>();
+            } else if (label.stack != null && !label.stack.equals(stack)) {
+                throw new IllegalStateException("Operand stack " + stack + " doesn't match " + label.stack);
+            }
+            label.stack = List.copyOf(stack);
+            stackSize = 0;
+            for (Type type : stack) {
+                stackSize += type.size;
+            }
+            frames.put(label.offset, label.stack);
+            if (!labels.contains(label)) {
+                labels.add(label);
+            }
+        }
+
+        void invoke(int opcode, String owner, String methodName, String methodDescriptor) {
+            var index = methodConstant(owner, methodName, methodDescriptor);
+            emit(opcode);
+            writeShort(index);
+            var end = methodDescriptor.indexOf(')');
+            var parameters = new ArrayList<Type>();
+            for (int i = 1; i < end; i++) {
+                var start = i;
+                while (methodDescriptor.charAt(i) == '[') {
+                    i++;
+                }
+                if (methodDescriptor.charAt(i) == 'L') {
+                    i = methodDescriptor.indexOf(';', i);
+                }
+                parameters.add(i > start ? Type.REFERENCE : Type.of(methodDescriptor.charAt(i)));
+            }
+            for (int i = parameters.size() - 1; i >= 0; i--) {
+                pop(parameters.get(i));
+            }
+            if (opcode != INVOKESTATIC) {
+                pop(Type.REFERENCE);
+            }
+            var result = methodDescriptor.charAt(end + 1);
+            if (result != 'V') {
+                push(result == '[' ? Type.REFERENCE : Type.of(result));
+            }
+        }
+
+        void returnLong() {
+            emit(LRETURN);
+            pop(Type.LONG);
+            stack = null;
+        }
+
+        void returnVoid() {
+            emit(RETURN);
+            stack = null;
+        }
+
+        private void emit(int opcode) {
+            if (stack == null) {
+                throw new IllegalStateException("Unreachable code must start at a label");
+            }
+            code.write(opcode);
+        }
+
+        private void writeShort(int value) {
+            code.write(value >>> 8);
+            code.write(value);
+        }
+
+        private void push(Type type) {
+            stack.add(type);
+            stackSize += type.size;
+            maxStack = Math.max(maxStack, stackSize);
+        }
+
+        private void pop(Type type) {
+            var top = stack.remove(stack.size() - 1);
+            if (top != type) {
+                throw new IllegalStateException("Expected " + type + " on the operand stack, but found " + top);
+            }
+            stackSize -= type.size;
+        }
+
+        private void write(DataOutputStream out, int codeName, int frameTableName) throws IOException {
+            if (stack != null) {
+                throw new IllegalStateException("Code must not run off the end of the method");
+            }
+            var bytes = code.toByteArray();
+            if (bytes.length > Short.MAX_VALUE) {
+                throw new IllegalStateException("Method is too large");
+            }
+            for (Label label : labels) {
+                if (label.offset < 0) {
+                    throw new IllegalStateException("Label is not bound");
+                }
+                for (int jump : label.jumps) {
+                    var delta = label.offset - jump;
+                    bytes[jump + 1] = (byte) (delta >>> 8);
+                    bytes[jump + 2] = (byte) delta;
+                }
+            }
+            var frameTable = frameTable();
+            var maxLocals = 0;
+            for (Type type : locals) {
+                maxLocals += type.size;
+            }
+            out.writeShort(access);
+            out.writeShort(name);
+            out.writeShort(descriptor);
+            out.writeShort(1);
+            out.writeShort(codeName);
+            out.writeInt(12 + bytes.length + (frameTable.length > 0 ? 6 + frameTable.length : 0));
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            out.writeShort(0);
+            if (frameTable.length > 0) {
+                out.writeShort(1);
+                out.writeShort(frameTableName);
+                out.writeInt(frameTable.length);
+                out.write(frameTable);
+            } else {
+                out.writeShort(0);
+            }
+        }
+
+        private byte[] frameTable() throws IOException {
+            if (frames.isEmpty()) {
+                return new byte[0];
+            }
+            var bytes = new ByteArrayOutputStream();
+            var out = new DataOutputStream(bytes);
+            out.writeShort(frames.size());
+            var previous = -1;
+            for (var frame : frames.entrySet()) {
+                out.writeByte(255);
+                out.writeShort(frame.getKey() - previous - 1);
+                previous = frame.getKey();
+                writeTypes(out, locals);
+                writeTypes(out, frame.getValue());
+            }
+            return bytes.toByteArray();
+        }
+
+        private void writeTypes(DataOutputStream out, List<Type> types) throws IOException {
+            out.writeShort(types.size());
+            for (Type type : types) {
+                if (type == Type.REFERENCE) {
+                    throw new IllegalStateException("Frames with references are not supported");
+                }
+                out.writeByte(type.verificationTag);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package io.aegis.lang.chicago;
+
+import java.util.Objects;
+
+public record Closure(CompiledFunction function, Value[] free) implements Value {
+
+    public Closure {
+        Objects.requireNonNull(function, "function can't be null");
+        Objects.requireNonNull(free, "free can't be null");
+    }
+
+    @Override
+    public String type() {
+        return ValueType.FUNCTION;
+    }
+
+    @Override
+    public String inspect() {
+        var literal = function.literal();
+        var paramsAsString = literal.parameters().stream().map(Identifier::toString).toList();
+        return new StringBuilder("fn(")
+              .append(paramsAsString)
+              .append(") {")
+              .append(System.lineSeparator())
+              .append(literal.body().toString())
+              .append(System.lineSeparator())
+              .append("}")
+              .toString();
+    }
+
+    @Override
+    public boolean isTruthy() {
+        return true;
+    }
+}
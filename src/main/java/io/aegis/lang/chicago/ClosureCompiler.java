@@ -0,0 +1,354 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// one lambda per node, with its children's bound in; runs still go through the Evaluator
+public final class ClosureCompiler {
+
+    private static final CompiledNode NULL = (evaluator, environment) -> NullValue.get();
+
+    public CompiledProgram compile(Program program) {
+        requireNonNull(program, "program can't be null");
+
+        var statements = compileAll(program.statements());
+        return new CompiledProgram((evaluator, environment) -> {
+            Value result = NullValue.get();
+            for (CompiledNode statement : statements) {
+                result = statement.evaluate(evaluator, environment);
+                if (result.is(ReturnValue.class)) {
+                    return result.as(ReturnValue.class).value();
+                } else if (result.is(Error.class)) {
+                    return result;
+                }
+            }
+            return result;
+        });
+    }
+
+    private CompiledNode compile(Node node) {
+        if (node instanceof BlockStatement block) {
+            return compileBlock(block);
+        } else if (node instanceof ExpressionStatement exprStmt) {
+            return compile(exprStmt.expression());
+        } else if (node instanceof ReturnStatement returnStmt) {
+            var returnValue = compile(returnStmt.returnValue());
+            return (evaluator, environment) -> {
+                var value = returnValue.evaluate(evaluator, environment);
+                return value.isError() ? value : new ReturnValue(value);
+            };
+        } else if (node instanceof IntegerLiteral integer) {
+            var value = integer.integer();
+            return (evaluator, environment) -> value;
+        } else if (node instanceof BooleanLiteral booleanLiteral) {
+            var value = BooleanValue.from(booleanLiteral.value());
+            return (evaluator, environment) -> value;
+        } else if (node instanceof PrefixExpression prefix) {
+            var right = compile(prefix.right());
+            return (evaluator, environment) -> {
+                var rightValue = right.evaluate(evaluator, environment);
+                return rightValue.isError() ? rightValue : evaluator.account(prefix.apply(rightValue));
+            };
+        } else if (node instanceof InfixExpression infix) {
+            return compileInfix(infix);
+        } else if (node instanceof IfExpression ifExpression) {
+            return compileIf(ifExpression);
+        } else if (node instanceof LetStatement letStmt) {
+            return compileLet(letStmt);
+        } else if (node instanceof Identifier identifier) {
+            return compileIdentifier(identifier);
+        } else if (node instanceof FunctionLiteral fn) {
+            var body = compileBody(fn.body(), true);
+            return (evaluator, environment) -> evaluator.account(evaluator.newFunction(environment, fn, body));
+        } else if (node instanceof CallExpression call) {
+            return compileCall(call, false);
+        } else if (node instanceof StringLiteral stringLiteral) {
+            var value = stringLiteral.value();
+            return (evaluator, environment) -> evaluator.string(value);
+        } else if (node instanceof ArrayLiteral arrayLiteral) {
+            var elements = compileAll(arrayLiteral.elements());
+            return (evaluator, environment) -> {
+                var values = evaluateAll(evaluator, environment, elements);
+                if (values.size() == 1 && values.get(0).isError()) {
+                    return values.get(0);
+                }
+                return evaluator.account(new Array(values));
+            };
+        } else if (node instanceof IndexExpression indexExpr) {
+            var left = compile(indexExpr.left());
+            var index = compile(indexExpr.index());
+            return (evaluator, environment) -> {
+                var leftValue = left.evaluate(evaluator, environment);
+                if (leftValue.isError()) {
+                    return leftValue;
+                }
+                var indexValue = index.evaluate(evaluator, environment);
+                if (indexValue.isError()) {
+                    return indexValue;
+                }
+                return Operators.index(leftValue, indexValue);
+            };
+        } else if (node instanceof DictionaryLiteral dictionaryLiteral) {
+            return compileDictionary(dictionaryLiteral);
+        }
+        return NULL;
+    }
+
+    private CompiledNode compileBlock(BlockStatement block) {
+        var statements = compileAll(block.statements());
+        return (evaluator, environment) -> {
+            Value result = NullValue.get();
+            for (CompiledNode statement : statements) {
+                result = statement.evaluate(evaluator, environment);
+                if (result.is(ReturnValue.class) || result.is(Error.class)) {
+                    return result;
+                }
+            }
+            return result;
+        };
+    }
+
+    private CompiledNode compileInfix(InfixExpression infix) {
+        var left = compile(infix.left());
+        var right = compile(infix.right());
+        return (evaluator, environment) -> {
+            var leftValue = left.evaluate(evaluator, environment);
+            if (leftValue.isError()) {
+                return leftValue;
+            }
+            var rightValue = right.evaluate(evaluator, environment);
+            if (rightValue.isError()) {
+                return rightValue;
+            }
+            return evaluator.account(infix.apply(leftValue, rightValue));
+        };
+    }
+
+    private CompiledNode compileIf(IfExpression ifExpression) {
+        var condition = compile(ifExpression.condition());
+        var consequence = compile(ifExpression.consequence());
+        var alternative = ifExpression.hasAlternative() ? compile(ifExpression.alternative()) : NULL;
+        return (evaluator, environment) -> {
+            var conditionValue = condition.evaluate(evaluator, environment);
+            if (conditionValue.isError()) {
+                return conditionValue;
+            }
+            return conditionValue.isTruthy()
+                  ? consequence.evaluate(evaluator, environment)
+                  : alternative.evaluate(evaluator, environment);
+        };
+    }
+
+    private CompiledNode compileLet(LetStatement letStmt) {
+        var value = compile(letStmt.value());
+        var name = letStmt.name();
+        var functionLiteral = letStmt.value() instanceof FunctionLiteral fn ? fn : null;
+        if (name.isResolved() && name.coordinate().isLocal()) {
+            var slot = name.coordinate().slot();
+            return (evaluator, environment) -> {
+                var bound = value.evaluate(evaluator, environment);
+                if (bound.isError()) {
+                    return bound;
+                }
+                if (functionLiteral != null) {
+                    evaluator.name(functionLiteral, name.value());
+                }
+                environment.set(slot, bound);
+                return NullValue.get();
+            };
+        }
+        return (evaluator, environment) -> {
+            var bound = value.evaluate(evaluator, environment);
+            if (bound.isError()) {
+                return bound;
+            }
+            if (functionLiteral != null) {
+                evaluator.name(functionLiteral, name.value());
+            }
+            environment.set(name.value(), bound);
+            return NullValue.get();
+        };
+    }
+
+    private CompiledNode compileIdentifier(Identifier identifier) {
+        var name = identifier.value();
+        var coordinate = identifier.coordinate();
+        var builtin = identifier.builtin() != null ? identifier.builtin() : BuiltinRegistry.STANDARD.get(name);
+        return (evaluator, environment) -> {
+            var value = coordinate != null ? environment.get(coordinate, name) : environment.get(name);
+            if (value.isNotNull()) {
+                return value;
+            }
+            return builtin != null ? builtin : Operators.newError("Identifier not found: " + name);
+        };
+    }
+
+    private CompiledNode compileDictionary(DictionaryLiteral dictionaryLiteral) {
+        if (dictionaryLiteral.isEmpty()) {
+            return (evaluator, environment) -> Dictionary.EMPTY;
+        }
+        var keys = compileAll(new ArrayList<>(dictionaryLiteral.pairs().keySet()));
+        var values = compileAll(new ArrayList<>(dictionaryLiteral.pairs().values()));
+        return (evaluator, environment) -> {
+            PersistentHashMap<Value, Value> map = PersistentHashMap.empty();
+            for (int i = 0; i < keys.length; i++) {
+                var key = keys[i].evaluate(evaluator, environment);
+                if (key.isError()) {
+                    return key;
+                }
+                var value = values[i].evaluate(evaluator, environment);
+                if (value.isError()) {
+                    return value;
+                }
+                map = map.plus(key, value);
+            }
+            return evaluator.account(new Dictionary(map));
+        };
+    }
+
+    // the last statement is in tail position when tail is
+    private CompiledNode compileBody(BlockStatement block, boolean tail) {
+        var statements = block.statements();
+        var compiled = new CompiledNode[statements.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = compileInFunction(statements.get(i), tail && i == compiled.length - 1);
+        }
+        return (evaluator, environment) -> {
+            Value result = NullValue.get();
+            for (CompiledNode statement : compiled) {
+                result = statement.evaluate(evaluator, environment);
+                if (result.is(ReturnValue.class) || result.is(Error.class) || result.is(TailCall.class)) {
+                    return result;
+                }
+            }
+            return result;
+        };
+    }
+
+    private CompiledNode compileInFunction(Statement statement, boolean tail) {
+        if (statement instanceof ReturnStatement returnStmt) {
+            var returnValue = compileTail(returnStmt.returnValue(), true);
+            return (evaluator, environment) -> {
+                var value = returnValue.evaluate(evaluator, environment);
+                return value.isError() || value.is(TailCall.class) ? value : new ReturnValue(value);
+            };
+        } else if (statement instanceof ExpressionStatement exprStmt) {
+            return compileTail(exprStmt.expression(), tail);
+        } else if (statement instanceof BlockStatement block) {
+            return compileBody(block, tail);
+        }
+        return compile(statement);
+    }
+
+    private CompiledNode compileTail(Expression expression, boolean tail) {
+        if (expression instanceof IfExpression ifExpression) {
+            var condition = compile(ifExpression.condition());
+            var consequence = compileBody(ifExpression.consequence(), tail);
+            var alternative = ifExpression.hasAlternative() ? compileBody(ifExpression.alternative(), tail) : NULL;
+            return (evaluator, environment) -> {
+                var conditionValue = condition.evaluate(evaluator, environment);
+                if (conditionValue.isError()) {
+                    return conditionValue;
+                }
+                return conditionValue.isTruthy()
+                      ? consequence.evaluate(evaluator, environment)
+                      : alternative.evaluate(evaluator, environment);
+            };
+        } else if (tail && expression instanceof CallExpression call) {
+            return compileCall(call, true);
+        }
+        return compile(expression);
+    }
+
+    private CompiledNode compileCall(CallExpression call, boolean tail) {
+        var callee = compileCallee(call);
+        var arguments = compileAll(call.arguments());
+        var site = call.site();
+        return (evaluator, environment) -> {
+            var calleeValue = callee.evaluate(evaluator, environment);
+            if (calleeValue.isError()) {
+                return calleeValue;
+            }
+            if (calleeValue instanceof Builtin builtin && !evaluator.isProfiling()
+                  && builtin.hasFixedArity(arguments.length)) {
+                return callBuiltin(evaluator, environment, builtin, arguments);
+            }
+            var args = evaluateAll(evaluator, environment, arguments);
+            if (args.size() == 1 && args.get(0).isError()) {
+                return args.get(0);
+            }
+            var target = calleeValue instanceof Function function ? site.target(function.literal()) : null;
+            return evaluator.call(calleeValue, target, args, tail);
+        };
+    }
+
+    private CompiledNode compileCallee(CallExpression call) {
+        var function = compile(call.function());
+        if (!(call.function() instanceof Identifier identifier)
+              || !identifier.isResolved() || !identifier.coordinate().isGlobal()) {
+            return function;
+        }
+        var depth = identifier.coordinate().depth();
+        var site = call.site();
+        return (evaluator, environment) -> {
+            var scope = environment.ancestor(depth);
+            var cached = site.callee(scope);
+            if (cached != null) {
+                return cached;
+            }
+            var version = scope.version();
+            var callee = function.evaluate(evaluator, environment);
+            if (!callee.isError()) {
+                evaluator.rememberCallee(site, scope, version, callee);
+            }
+            return callee;
+        };
+    }
+
+    private static Value callBuiltin(Evaluator evaluator, Environment environment, Builtin builtin,
+          CompiledNode[] arguments) {
+        var count = arguments.length;
+        var first = arguments[0].evaluate(evaluator, environment);
+        if (first.isError()) {
+            return first;
+        }
+        Value second = null;
+        Value third = null;
+        if (count > 1) {
+            second = arguments[1].evaluate(evaluator, environment);
+            if (second.isError()) {
+                return second;
+            }
+        }
+        if (count > 2) {
+            third = arguments[2].evaluate(evaluator, environment);
+            if (third.isError()) {
+                return third;
+            }
+        }
+        return evaluator.callBuiltin(builtin, count, first, second, third);
+    }
+
+    private static List<Value> evaluateAll(Evaluator evaluator, Environment environment, CompiledNode[] nodes) {
+        List<Value> values = new ArrayList<>(nodes.length);
+        for (CompiledNode node : nodes) {
+            var value = node.evaluate(evaluator, environment);
+            if (value.isError()) {
+                return List.of(value);
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    private CompiledNode[] compileAll(List<? extends Node> nodes) {
+        var compiled = new CompiledNode[nodes.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = compile(nodes.get(i));
+        }
+        return compiled;
+    }
+
+}
@@ -0,0 +1,32 @@
+package io.aegis.lang.chicago;
+
+import java.util.Objects;
+
+public record CompiledFunction(
+      byte[] instructions, int parameterCount, String[] localNames, FunctionLiteral literal, int maxStack)
+      implements Value {
+
+    public CompiledFunction {
+        Objects.requireNonNull(instructions, "instructions can't be null");
+        Objects.requireNonNull(localNames, "localNames can't be null");
+    }
+
+    public int localCount() {
+        return localNames.length;
+    }
+
+    @Override
+    public String type() {
+        return ValueType.COMPILED_FUNCTION;
+    }
+
+    @Override
+    public String inspect() {
+        return "CompiledFunction[" + System.lineSeparator() + Opcode.disassemble(instructions) + "]";
+    }
+
+    @Override
+    public boolean isTruthy() {
+        return true;
+    }
+}
@@ -0,0 +1,8 @@
+package io.aegis.lang.chicago;
+
+// the evaluator holds the run's budget, quota, profiler and calls
+interface CompiledNode {
+
+    Value evaluate(Evaluator evaluator, Environment environment);
+
+}
@@ -0,0 +1,17 @@
+package io.aegis.lang.chicago;
+
+import java.util.Objects;
+
+public final class CompiledProgram {
+
+    private final CompiledNode root;
+
+    CompiledProgram(CompiledNode root) {
+        this.root = Objects.requireNonNull(root, "root can't be null");
+    }
+
+    CompiledNode root() {
+        return root;
+    }
+
+}
@@ -0,0 +1,310 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+public class Compiler {
+
+    private final SymbolTable globals;
+    private final List<Value> constants;
+    private final Map<Value, Integer> constantIndexes = new HashMap<>();
+    private final BuiltinRegistry builtins;
+
+    private SymbolTable symbolTable;
+    private Scope scope;
+    // per name, how many times the function being compiled binds it; null at the top level
+    private Map<String, Integer> bindings;
+
+    public Compiler() {
+        this(BuiltinRegistry.STANDARD);
+    }
+
+    public Compiler(BuiltinRegistry builtins) {
+        this(new SymbolTable(), new ArrayList<>(), builtins);
+    }
+
+    public Compiler(SymbolTable globals, List<Value> constants) {
+        this(globals, constants, BuiltinRegistry.STANDARD);
+    }
+
+    public Compiler(SymbolTable globals, List<Value> constants, BuiltinRegistry builtins) {
+        requireNonNull(globals, "globals can't be null");
+        requireNonNull(constants, "constants can't be null");
+        requireNonNull(builtins, "builtins can't be null");
+
+        this.globals = globals;
+        this.constants = constants;
+        this.builtins = builtins.freeze();
+        for (int i = 0; i < constants.size(); i++) {
+            constantIndexes.putIfAbsent(constants.get(i), i);
+        }
+    }
+
+    public Bytecode compile(Program program) {
+        requireNonNull(program, "program can't be null");
+
+        symbolTable = globals;
+        bindings = null;
+        scope = new Scope();
+        compileStatements(program.statements(), true);
+        scope.emit(Opcode.RETURN_VALUE);
+        var main = new CompiledFunction(scope.toByteArray(), 0, new String[0], null, scope.maxStack());
+        return new Bytecode(main, constants.toArray(new Value[0]), globals.names(), builtins.toArray());
+    }
+
+    private void compileStatements(List<Statement> statements, boolean keepResult) {
+        compileStatements(statements, keepResult, false);
+    }
+
+    private void compileStatements(List<Statement> statements, boolean keepResult, boolean tail) {
+        if (statements.isEmpty()) {
+            if (keepResult) {
+                scope.emit(Opcode.NULL);
+            }
+            return;
+        }
+        var last = statements.size() - 1;
+        for (int i = 0; i < last; i++) {
+            compileStatement(statements.get(i), false, false);
+        }
+        compileStatement(statements.get(last), keepResult, tail);
+    }
+
+    private void compileStatement(Statement statement, boolean keepResult, boolean tail) {
+        if (statement instanceof ExpressionStatement exprStmt) {
+            compileExpression(exprStmt.expression(), tail);
+            if (!keepResult) {
+                scope.emit(Opcode.POP);
+            }
+        } else if (statement instanceof LetStatement letStmt) {
+            var name = letStmt.name().value();
+            if (letStmt.value() instanceof FunctionLiteral fn) {
+                compileFunctionLiteral(fn, boundOnce(name) ? name : null);
+            } else {
+                compileExpression(letStmt.value());
+            }
+            var symbol = symbolTable.define(name);
+            if (symbol.scope() == Symbol.Scope.GLOBAL) {
+                scope.emit(Opcode.SET_GLOBAL, symbol.index());
+            } else {
+                scope.emit(Opcode.SET_LOCAL, symbol.index());
+            }
+            if (keepResult) {
+                scope.emit(Opcode.NULL);
+            }
+        } else if (statement instanceof ReturnStatement returnStmt) {
+            compileExpression(returnStmt.returnValue(), !symbolTable.isGlobal());
+            scope.emit(Opcode.RETURN_VALUE);
+        } else if (statement instanceof BlockStatement block) {
+            compileStatements(block.statements(), keepResult, tail);
+        } else {
+            throw new IllegalArgumentException("Cannot compile statement " + statement);
+        }
+    }
+
+    private void compileExpression(Expression expression) {
+        compileExpression(expression, false);
+    }
+
+    private void compileExpression(Expression expression, boolean tail) {
+        if (expression instanceof IntegerLiteral integer) {
+            scope.emit(Opcode.CONSTANT, addConstant(integer.integer()));
+        } else if (expression instanceof StringLiteral string) {
+            scope.emit(Opcode.CONSTANT, addConstant(new StringValue(string.value())));
+        } else if (expression instanceof BooleanLiteral bool) {
+            scope.emit(bool.value() ? Opcode.TRUE : Opcode.FALSE);
+        } else if (expression instanceof PrefixExpression prefix) {
+            compileExpression(prefix.right());
+            scope.emit(switch (prefix.operator()) {
+                case "!" -> Opcode.BANG;
+                case "-" -> Opcode.MINUS;
+                default -> throw new IllegalArgumentException("Unknown operator " + prefix.operator());
+            });
+        } else if (expression instanceof InfixExpression infix) {
+            compileExpression(infix.left());
+            compileExpression(infix.right());
+            scope.emit(switch (infix.operator()) {
+                case "+" -> Opcode.ADD;
+                case "-" -> Opcode.SUB;
+                case "*" -> Opcode.MUL;
+                case "/" -> Opcode.DIV;
+                case "<" -> Opcode.LESS_THAN;
+                case ">" -> Opcode.GREATER_THAN;
+                case "==" -> Opcode.EQUAL;
+                case "!=" -> Opcode.NOT_EQUAL;
+                default -> throw new IllegalArgumentException("Unknown operator " + infix.operator());
+            });
+        } else if (expression instanceof IfExpression ifExpression) {
+            compileIfExpression(ifExpression, tail);
+        } else if (expression instanceof Identifier identifier) {
+            loadSymbol(resolve(identifier.value()));
+        } else if (expression instanceof FunctionLiteral fn) {
+            compileFunctionLiteral(fn, null);
+        } else if (expression instanceof CallExpression call) {
+            compileExpression(call.function());
+            for (Expression argument : call.arguments()) {
+                compileExpression(argument);
+            }
+            scope.emit(tail ? Opcode.TAIL_CALL : Opcode.CALL, call.arguments().size());
+        } else if (expression instanceof ArrayLiteral array) {
+            for (Expression element : array.elements()) {
+                compileExpression(element);
+            }
+            scope.emit(Opcode.ARRAY, array.elements().size());
+        } else if (expression instanceof DictionaryLiteral dictionary) {
+            for (Entry<Expression, Expression> entry : dictionary.pairs().entrySet()) {
+                compileExpression(entry.getKey());
+                compileExpression(entry.getValue());
+            }
+            scope.emit(Opcode.DICTIONARY, dictionary.size());
+        } else if (expression instanceof IndexExpression index) {
+            compileExpression(index.left());
+            compileExpression(index.index());
+            scope.emit(Opcode.INDEX);
+        } else {
+            throw new IllegalArgumentException("Cannot compile expression " + expression);
+        }
+    }
+
+    private void compileIfExpression(IfExpression ifExpression, boolean tail) {
+        compileExpression(ifExpression.condition());
+        var jumpNotTruthy = scope.emit(Opcode.JUMP_NOT_TRUTHY, 0);
+        var depth = scope.depth();
+        compileStatements(ifExpression.consequence().statements(), true, tail);
+        var jump = scope.emit(Opcode.JUMP, 0);
+        var consequenceDepth = scope.depth();
+        scope.patchOperand(jumpNotTruthy, scope.position());
+        scope.depth(depth);
+        if (ifExpression.hasAlternative()) {
+            compileStatements(ifExpression.alternative().statements(), true, tail);
+        } else {
+            scope.emit(Opcode.NULL);
+        }
+        // a branch that returns leaves less on the stack
+        scope.depth(Math.max(consequenceDepth, scope.depth()));
+        scope.patchOperand(jump, scope.position());
+    }
+
+    // CURRENT_CLOSURE only when the enclosing function binds the name once
+    private boolean boundOnce(String name) {
+        return bindings != null && bindings.getOrDefault(name, 0) == 1;
+    }
+
+    private void compileFunctionLiteral(FunctionLiteral fn, String name) {
+        var enclosingScope = scope;
+        var enclosingBindings = bindings;
+        symbolTable = new SymbolTable(symbolTable);
+        scope = new Scope();
+        bindings = new HashMap<>();
+        for (Identifier parameter : fn.parameters()) {
+            bindings.merge(parameter.value(), 1, Integer::sum);
+        }
+        Resolver.forEachLet(fn.body().statements(), let -> bindings.merge(let, 1, Integer::sum));
+        if (name != null) {
+            symbolTable.defineFunctionName(name);
+        }
+        for (Identifier parameter : fn.parameters()) {
+            symbolTable.defineParameter(parameter.value());
+        }
+        compileStatements(fn.body().statements(), true, true);
+        scope.emit(Opcode.RETURN_VALUE);
+
+        var freeSymbols = symbolTable.freeSymbols();
+        var compiled = new CompiledFunction(
+              scope.toByteArray(), fn.parameters().size(), symbolTable.names(), fn, scope.maxStack());
+        symbolTable = symbolTable.outer();
+        scope = enclosingScope;
+        bindings = enclosingBindings;
+
+        for (Symbol free : freeSymbols) {
+            loadSymbol(free);
+        }
+        scope.emit(Opcode.CLOSURE, addConstant(compiled), freeSymbols.size());
+    }
+
+    private Symbol resolve(String name) {
+        var symbol = symbolTable.resolve(name);
+        if (symbol != null) {
+            return symbol;
+        }
+        var builtinIndex = builtins.indexOf(name);
+        if (builtinIndex >= 0) {
+            return new Symbol(name, Symbol.Scope.BUILTIN, builtinIndex);
+        }
+        return symbolTable.declareGlobal(name);
+    }
+
+    private void loadSymbol(Symbol symbol) {
+        switch (symbol.scope()) {
+            case GLOBAL -> scope.emit(Opcode.GET_GLOBAL, symbol.index());
+            case LOCAL -> scope.emit(Opcode.GET_LOCAL, symbol.index());
+            case BUILTIN -> scope.emit(Opcode.GET_BUILTIN, symbol.index());
+            case FREE -> scope.emit(Opcode.GET_FREE, symbol.index());
+            case FUNCTION -> scope.emit(Opcode.CURRENT_CLOSURE);
+        }
+    }
+
+    private int addConstant(Value value) {
+        if (value instanceof CompiledFunction) {
+            constants.add(value);
+            return constants.size() - 1;
+        }
+        return constantIndexes.computeIfAbsent(value, v -> {
+            constants.add(v);
+            return constants.size() - 1;
+        });
+    }
+
+    private static final class Scope {
+
+        private byte[] instructions = new byte[64];
+        private int size;
+        private int depth;
+        private int maxStack;
+
+        int emit(byte opcode, int... operands) {
+            var position = size;
+            var encoded = Opcode.make(opcode, operands);
+            depth(depth + Opcode.stackEffect(opcode, operands));
+            if (size + encoded.length > instructions.length) {
+                instructions = Arrays.copyOf(instructions, Math.max(instructions.length * 2, size + encoded.length));
+            }
+            System.arraycopy(encoded, 0, instructions, size, encoded.length);
+            size += encoded.length;
+            return position;
+        }
+
+        void patchOperand(int position, int operand) {
+            var patched = Opcode.make(instructions[position], operand);
+            System.arraycopy(patched, 0, instructions, position, patched.length);
+        }
+
+        int position() {
+            return size;
+        }
+
+        int depth() {
+            return depth;
+        }
+
+        void depth(int depth) {
+            this.depth = depth;
+            maxStack = Math.max(maxStack, depth);
+        }
+
+        int maxStack() {
+            return maxStack;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(instructions, size);
+        }
+    }
+
+}
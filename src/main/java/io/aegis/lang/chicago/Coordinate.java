@@ -0,0 +1,37 @@
+package io.aegis.lang.chicago;
+
+// depth 0 is a frame slot, depth 1 with a slot a captured cell, otherwise a global
+public record Coordinate(int depth, int slot) {
+
+    static final int GLOBAL_SLOT = -1;
+
+    public Coordinate {
+        if (depth < 0) {
+            throw new IllegalArgumentException("depth can't be negative");
+        }
+        if (slot < GLOBAL_SLOT) {
+            throw new IllegalArgumentException("slot can't be less than " + GLOBAL_SLOT);
+        }
+    }
+
+    public static Coordinate global(int depth) {
+        return new Coordinate(depth, GLOBAL_SLOT);
+    }
+
+    public boolean isGlobal() {
+        return slot == GLOBAL_SLOT;
+    }
+
+    public static Coordinate captured(int index) {
+        return new Coordinate(1, index);
+    }
+
+    public boolean isLocal() {
+        return depth == 0 && !isGlobal();
+    }
+
+    public boolean isCaptured() {
+        return depth == 1 && !isGlobal();
+    }
+
+}
@@ -1,12 +1,18 @@
 package io.aegis.lang.chicago;
 
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 public record Dictionary(Map<Value, Value> pairs) implements Value {
 
-    public static final Dictionary EMPTY = new Dictionary(Map.of());
+    public static final Dictionary EMPTY = new Dictionary(PersistentHashMap.empty());
+
+    public Dictionary {
+        Objects.requireNonNull(pairs, "pairs can't be null");
+        pairs = PersistentHashMap.copyOf(pairs);
+    }
 
     @Override
     public String type() {
@@ -19,6 +25,29 @@ public record Dictionary(Map<Value, Value> pairs) implements Value {
         return pairs.getOrDefault(key, NullValue.get());
     }
 
+    public Dictionary put(Value key, Value value) {
+        Objects.requireNonNull(key, "key can't be null");
+        Objects.requireNonNull(value, "value can't be null");
+
+        var updated = map().plus(key, value);
+        return updated == pairs ? this : new Dictionary(updated);
+    }
+
+    public Dictionary delete(Value key) {
+        Objects.requireNonNull(key, "key can't be null");
+
+        var updated = map().minus(key);
+        return updated == pairs ? this : new Dictionary(updated);
+    }
+
+    public Array keys() {
+        return new Array(new ArrayList<>(pairs.keySet()));
+    }
+
+    public Array values() {
+        return new Array(new ArrayList<>(pairs.values()));
+    }
+
     @Override
     public String inspect() {
         return pairs.entrySet()
@@ -31,4 +60,8 @@ public record Dictionary(Map<Value, Value> pairs) implements Value {
     public boolean isTruthy() {
         return !pairs.isEmpty();
     }
+
+    private PersistentHashMap<Value, Value> map() {
+        return (PersistentHashMap<Value, Value>) pairs;
+    }
 }
@@ -2,6 +2,8 @@ package io.aegis.lang.chicago;
 
 import static java.util.stream.Collectors.joining;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -10,6 +12,7 @@ public record DictionaryLiteral(Token token, Map<Expression, Expression> pairs)
     public DictionaryLiteral {
         Objects.requireNonNull(token, "token can't be null");
         Objects.requireNonNull(pairs, "pairs can't be null");
+        pairs = Collections.unmodifiableMap(new LinkedHashMap<>(pairs));
     }
 
     @Override
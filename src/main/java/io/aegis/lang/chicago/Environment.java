@@ -1,28 +1,137 @@
 package io.aegis.lang.chicago;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class Environment {
 
     private final Environment parent;
-    private final Map<String, Value> map = new HashMap<>();
+    private final List<String> slotNames;
+    private final Value[] slots;
+    // per slot, the cell of a captured local, or null
+    private final List<Integer> cellSlots;
+    private final Cell[] cells;
+    private final Cell[] capturedCells;
+    private Map<String, Value> map;
+    private boolean captured;
+    private boolean frozen;
+    private int version;
 
     public Environment() {
         this(null);
     }
 
     public Environment(Environment parent) {
+        this(parent, List.of());
+    }
+
+    Environment(Environment parent, List<String> slotNames) {
+        this(parent, slotNames, List.of(), null);
+    }
+
+    Environment(Environment parent, List<String> slotNames, List<Integer> cellSlots, Cell[] captured) {
         this.parent = parent;
+        this.slotNames = slotNames;
+        this.slots = new Value[slotNames.size()];
+        this.cellSlots = cellSlots;
+        this.cells = cellSlots.isEmpty() ? null : new Cell[slots.length];
+        this.capturedCells = captured;
+        newCells();
     }
 
     public Object set(String name, Value value) {
+        checkNotFrozen();
+        var slot = slotNames.indexOf(name);
+        if (slot >= 0) {
+            set(slot, value);
+            return value;
+        }
+        if (map == null) {
+            map = new HashMap<>();
+        }
         map.put(name, value);
+        version++;
         return value;
     }
 
+    void set(int slot, Value value) {
+        checkNotFrozen();
+        if (cells != null && cells[slot] != null) {
+            cells[slot].value = value;
+        } else {
+            slots[slot] = value;
+        }
+    }
+
+    Cell cell(int slot) {
+        return cells[slot];
+    }
+
+    Cell capturedCell(int index) {
+        return capturedCells[index];
+    }
+
+    boolean isFrame() {
+        return capturedCells != null;
+    }
+
+    // read-only from here up, so threads can share it once published
+    public Environment freeze() {
+        for (var environment = this; environment != null; environment = environment.parent) {
+            environment.frozen = true;
+        }
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    void capture() {
+        if (!frozen) {
+            captured = true;
+        }
+    }
+
+    boolean isCaptured() {
+        return captured;
+    }
+
+    void reset() {
+        Arrays.fill(slots, null);
+        // closures may still hold the cells of the previous call
+        newCells();
+        map = null;
+        version++;
+    }
+
+    private void newCells() {
+        for (int slot : cellSlots) {
+            cells[slot] = new Cell();
+        }
+    }
+
+    // an unchanged version means a name looked up from here resolves the same
+    int version() {
+        return version;
+    }
+
+    boolean isVersioned() {
+        return slots.length == 0 && (parent == null || parent.frozen);
+    }
+
+    Environment ancestor(int depth) {
+        var environment = this;
+        for (int i = depth; i > 0 && environment.parent != null; i--) {
+            environment = environment.parent;
+        }
+        return environment;
+    }
+
     public Value get(String name) {
-        var value = map.get(name);
+        var value = lookup(name);
         if (value == null) {
             if (parent != null) {
                 return parent.get(name);
@@ -32,4 +141,42 @@ public class Environment {
         return value;
     }
 
+    Value get(Coordinate coordinate, String name) {
+        if (coordinate.isCaptured() && capturedCells != null) {
+            var value = capturedCells[coordinate.slot()].value;
+            // captured before the enclosing function assigned it, so fall back like a local read too early
+            return value != null ? value : parent != null ? parent.get(name) : NullValue.get();
+        }
+        var environment = ancestor(coordinate.depth());
+        if (coordinate.isGlobal()) {
+            return environment.get(name);
+        }
+        var value = environment.slot(coordinate.slot());
+        if (value != null) {
+            return value;
+        }
+        // read before the local was assigned, so fall back to the enclosing scopes like an unresolved lookup
+        return environment.parent != null ? environment.parent.get(name) : NullValue.get();
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Environment is frozen");
+        }
+    }
+
+    private Value slot(int slot) {
+        return cells != null && cells[slot] != null ? cells[slot].value : slots[slot];
+    }
+
+    private Value lookup(String name) {
+        if (slots.length > 0) {
+            var slot = slotNames.indexOf(name);
+            if (slot >= 0 && slot(slot) != null) {
+                return slot(slot);
+            }
+        }
+        return map == null ? null : map.get(name);
+    }
+
 }
@@ -0,0 +1,15 @@
+package io.aegis.lang.chicago;
+
+public class EvaluationException extends RuntimeException {
+
+    private final Error error;
+
+    public EvaluationException(Error error) {
+        super(error.message());
+        this.error = error;
+    }
+
+    public Error error() {
+        return error;
+    }
+}
@@ -3,92 +3,190 @@ package io.aegis.lang.chicago;
 import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
+import java.util.Set;
 
 public class Evaluator {
 
-    private final BuiltinFunctions builtinFunctions = new BuiltinFunctions();
+    private final StepBudget budget;
+    private final MemoryAccountant memory;
+    private final int maxDepth;
+    private final Profiler profiler;
+    private final boolean pure;
+    private final boolean forkable;
+    private final int jitThreshold;
+    private final Caller caller = new EvaluatorCaller();
+    private int depth;
+    // the call sites holding a callee of this evaluator's run, forgotten when the run ends
+    private final Set<CallSite> callees = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public Evaluator() {
+        this(Limits.NONE, null);
+    }
+
+    public Evaluator(Profiler profiler) {
+        this(Limits.NONE, requireNonNull(profiler, "profiler can't be null"));
+    }
+
+    public Evaluator(Limits limits) {
+        this(limits, null);
+    }
+
+    public Evaluator(Limits limits, Profiler profiler) {
+        this(limits, profiler, false);
+    }
+
+    private Evaluator(Limits limits, Profiler profiler, boolean pure) {
+        requireNonNull(limits, "limits can't be null");
+
+        this.budget = new StepBudget(limits);
+        this.memory = new MemoryAccountant(limits);
+        this.maxDepth = limits.maxDepth();
+        this.profiler = profiler;
+        this.pure = pure;
+        this.forkable = profiler == null && limits.boundsOnlyDepth();
+        this.jitThreshold = forkable ? Jit.threshold() : -1;
+    }
 
     public Value evaluate(Environment environment, Node node) {
         requireNonNull(environment, "environment can't be null");
         requireNonNull(node, "node can't be null");
 
+        budget.restart();
+        memory.restart();
+        depth = 0;
+        try {
+            return evaluateNode(environment, node);
+        } finally {
+            forgetCallees();
+        }
+    }
+
+    public Value evaluate(Environment environment, CompiledProgram program) {
+        requireNonNull(environment, "environment can't be null");
+        requireNonNull(program, "program can't be null");
+
+        budget.restart();
+        memory.restart();
+        depth = 0;
+        try {
+            return program.root().evaluate(this, environment);
+        } finally {
+            forgetCallees();
+        }
+    }
+
+    public long accountedBytes() {
+        return memory.accountedBytes();
+    }
+
+    private Value evaluateNode(Environment environment, Node node) {
         if (node instanceof Program program) {
             return evaluateProgram(environment, program);
         } else if (node instanceof BlockStatement block) {
             return evaluateBlockStatement(environment, block);
         } else if (node instanceof ExpressionStatement exprStmt) {
-            return evaluate(environment, exprStmt.expression());
+            return evaluateNode(environment, exprStmt.expression());
         } else if (node instanceof ReturnStatement returnStmt) {
-            var value = evaluate(environment, returnStmt.returnValue());
+            var value = evaluateNode(environment, returnStmt.returnValue());
             return value.isError() ? value : new ReturnValue(value);
         } else if (node instanceof IntegerLiteral integer) {
-            return new IntegerValue(integer.value());
+            return integer.integer();
         } else if (node instanceof BooleanLiteral booleanLiteral) {
             return BooleanValue.from(booleanLiteral.value());
         } else if (node instanceof PrefixExpression prefix) {
-            var rightValue = evaluate(environment, prefix.right());
-            return rightValue.isError() ? rightValue : evaluatePrefixExpression(prefix.operator(), rightValue);
+            var rightValue = evaluateNode(environment, prefix.right());
+            return rightValue.isError() ? rightValue : account(prefix.apply(rightValue));
         } else if (node instanceof InfixExpression infix) {
-            var left = evaluate(environment, infix.left());
+            var left = evaluateNode(environment, infix.left());
             if (left.isError()) {
                 return left;
             }
-            var right = evaluate(environment, infix.right());
+            var right = evaluateNode(environment, infix.right());
             if (right.isError()) {
                 return right;
             }
-            return evaluateInfixExpression(infix.operator(), left, right);
+            return account(infix.apply(left, right));
         } else if (node instanceof IfExpression ifExpression) {
             return evaluateIfExpression(environment, ifExpression);
         } else if (node instanceof LetStatement letStmt) {
-            var value = evaluate(environment, letStmt.value());
+            var value = evaluateNode(environment, letStmt.value());
             if (value.isError()) {
                 return value;
             }
-            environment.set(letStmt.name().value(), value);
+            var name = letStmt.name();
+            if (letStmt.value() instanceof FunctionLiteral fn) {
+                name(fn, name.value());
+            }
+            if (name.isResolved() && name.coordinate().isLocal()) {
+                environment.set(name.coordinate().slot(), value);
+            } else {
+                environment.set(name.value(), value);
+            }
         } else if (node instanceof Identifier identifier) {
             return evaluateIdentifier(environment, identifier);
         } else if (node instanceof FunctionLiteral fn) {
-            return new Function(fn.parameters(), fn.body(), environment);
+            return account(newFunction(environment, fn, null));
         } else if (node instanceof CallExpression call) {
-            var functionValue = evaluate(environment, call.function());
-            if (functionValue.isError()) {
-                return functionValue;
-            }
-            var args = evaluateExpressions(environment, call.arguments());
-            if (args.size() == 1 && args.iterator().next().isError()) {
-                return args.iterator().next();
-            }
-            return applyFunction(functionValue, args);
+            return evaluateCall(environment, call, false);
         } else if (node instanceof StringLiteral stringLiteral) {
-            return new StringValue(stringLiteral.value());
+            return string(stringLiteral.value());
         } else if (node instanceof ArrayLiteral arrayLiteral) {
             var elements = evaluateExpressions(environment, arrayLiteral.elements());
             if (elements.size() == 1 && elements.iterator().next().isError()) {
                 return elements.iterator().next();
             }
-            return new Array(elements);
+            return account(new Array(elements));
         } else if (node instanceof IndexExpression indexExpr) {
-            var left = evaluate(environment, indexExpr.left());
+            var left = evaluateNode(environment, indexExpr.left());
             if (left.isError()) {
                 return left;
             }
-            var index = evaluate(environment, indexExpr.index());
+            var index = evaluateNode(environment, indexExpr.index());
             if (index.isError()) {
                 return index;
             }
-            return evaluateIndexExpression(left, index);
+            return Operators.index(left, index);
         } else if (node instanceof DictionaryLiteral dictionaryLiteral) {
             return evaluateDictionary(environment, dictionaryLiteral);
         }
         return NullValue.get();
     }
 
+    Function newFunction(Environment environment, FunctionLiteral literal, CompiledNode code) {
+        if (!literal.isResolved()) {
+            environment.capture();
+            return new Function(literal, environment, Function.NO_CAPTURES, code);
+        }
+        var captures = literal.captures();
+        var cells = new Cell[captures.size()];
+        for (int i = 0; i < cells.length; i++) {
+            var capture = captures.get(i);
+            cells[i] = capture.local() ? environment.cell(capture.index()) : environment.capturedCell(capture.index());
+        }
+        // a resolved closure only keeps the program's environment
+        return new Function(literal, environment.isFrame() ? environment.ancestor(1) : environment, cells, code);
+    }
+
+    void name(FunctionLiteral literal, String name) {
+        if (profiler != null) {
+            profiler.name(literal, name);
+        }
+    }
+
+    Value string(String value) {
+        var exhausted = memory.charge(MemoryAccountant.VALUE_BYTES);
+        return exhausted != null ? exhausted : new StringValue(value);
+    }
+
+    boolean isProfiling() {
+        return profiler != null;
+    }
+
     private Value evaluateDictionary(Environment environment, DictionaryLiteral dictionaryLiteral) {
         requireNonNull(environment, "environment can't be null");
         requireNonNull(dictionaryLiteral, "dictionaryLiteral can't be null");
@@ -97,71 +195,287 @@ public class Evaluator {
             return Dictionary.EMPTY;
         }
 
-        Map<Value, Value> map = new HashMap<>();
+        PersistentHashMap<Value, Value> map = PersistentHashMap.empty();
         for (Entry<Expression, Expression> entry : dictionaryLiteral.pairs().entrySet()) {
-            var key = evaluate(environment, entry.getKey());
+            var key = evaluateNode(environment, entry.getKey());
             if (key.isError()) {
                 return key;
             }
-            var value = evaluate(environment, entry.getValue());
+            var value = evaluateNode(environment, entry.getValue());
             if (value.isError()) {
                 return value;
             }
-            map.put(key, value);
+            map = map.plus(key, value);
         }
-        return new Dictionary(map);
+        return account(new Dictionary(map));
     }
 
-    private Value evaluateIndexExpression(Value left, Value index) {
-        requireNonNull(left, "left can't be null");
-        requireNonNull(index, "index can't be null");
+    private Value evaluateCall(Environment environment, CallExpression call, boolean tail) {
+        var callee = evaluateCallee(environment, call);
+        if (callee.isError()) {
+            return callee;
+        }
+        if (callee instanceof Builtin builtin && profiler == null && builtin.hasFixedArity(call.arguments().size())) {
+            return callBuiltin(environment, builtin, call.arguments());
+        }
+        var args = evaluateExpressions(environment, call.arguments());
+        if (args.size() == 1 && args.iterator().next().isError()) {
+            return args.iterator().next();
+        }
+        var target = callee instanceof Function function ? call.site().target(function.literal()) : null;
+        return call(callee, target, args, tail);
+    }
 
-        if (left.is(Array.class) && index.is(IntegerValue.class)) {
-            return evaluateArrayIndexExpression(left, index);
-        } else if (left.is(Dictionary.class)) {
-            return evaluateDictionaryIndexExpression(left, index);
-        } else {
-            return newError("Index operator is not supported for: %s", left.type());
+    Value call(Value callee, CallSite.Target target, List<Value> args, boolean tail) {
+        var exhausted = budget.charge();
+        if (exhausted != null) {
+            return exhausted;
+        }
+        if (callee instanceof Function function) {
+            if (args.size() != target.arity()) {
+                return newError("Wrong number of arguments. Expected %d, but got %d", target.arity(), args.size());
+            }
+            if (tail) {
+                return new TailCall(function, target, args);
+            }
+            if (depth == maxDepth) {
+                return newError("Call depth of %d exceeded", maxDepth);
+            }
+            depth++;
+            try {
+                return profiler == null ? applyFunction(function, target, args) : profile(function, target, args);
+            } finally {
+                depth--;
+            }
+        } else if (callee instanceof Builtin builtin) {
+            return profiler == null ? applyBuiltin(builtin, args) : profile(builtin, args);
+        }
+        return newError("Not a function: %s", callee.type());
+    }
+
+    private Value evaluateCallee(Environment environment, CallExpression call) {
+        if (!(call.function() instanceof Identifier identifier)
+              || !identifier.isResolved() || !identifier.coordinate().isGlobal()) {
+            return evaluateNode(environment, call.function());
+        }
+        // a global name, or a builtin, only changes when the scope it is looked up from is assigned to
+        var scope = environment.ancestor(identifier.coordinate().depth());
+        var cached = call.site().callee(scope);
+        if (cached != null) {
+            return cached;
+        }
+        var version = scope.version();
+        var callee = evaluateIdentifier(environment, identifier);
+        if (!callee.isError()) {
+            rememberCallee(call.site(), scope, version, callee);
+        }
+        return callee;
+    }
+
+    void rememberCallee(CallSite site, Environment scope, int version, Value callee) {
+        // a pure fork's calls end with the run that forked it
+        if (!pure && site.rememberCallee(this, scope, version, callee)) {
+            callees.add(site);
         }
     }
 
-    private Value evaluateDictionaryIndexExpression(Value left, Value index) {
-        return left.as(Dictionary.class).get(index);
+    private void forgetCallees() {
+        for (CallSite site : callees) {
+            site.forgetCallee(this);
+        }
+        callees.clear();
     }
 
-    private Value evaluateArrayIndexExpression(Value left, Value index) {
-        var array = left.as(Array.class);
-        var idx = index.as(IntegerValue.class);
-        return array.get(idx);
+    private Value profile(Function function, CallSite.Target target, List<Value> args) {
+        profiler.enter(function.literal());
+        try {
+            return applyFunction(function, target, args);
+        } finally {
+            profiler.exit();
+        }
     }
 
-    private Value applyFunction(Value functionObject, List<Value> args) {
-        requireNonNull(functionObject, "functionObject can't be null");
-        requireNonNull(args, "args can't be null");
+    private Value profile(Builtin builtin, List<Value> args) {
+        profiler.enter(builtin);
+        try {
+            return applyBuiltin(builtin, args);
+        } finally {
+            profiler.exit();
+        }
+    }
 
-        if (functionObject.is(Function.class)) {
-            var function = functionObject.as(Function.class);
-            var fnEnv = new Environment(function.environment());
-            var parameters = function.parameters();
-            for (int i = 0, n = parameters.size(); i < n; i++) {
-                fnEnv.set(parameters.get(i).value(), args.get(i));
+    private Value applyBuiltin(Builtin builtin, List<Value> args) {
+        if (pure && builtin.sideEffects()) {
+            throw new SideEffectException(builtin.name());
+        }
+        var arguments = args.toArray(new Value[0]);
+        var result = builtin.apply(caller, arguments);
+        var exhausted = memory.chargeResult(result, arguments);
+        return exhausted != null ? exhausted : result;
+    }
+
+    // fixed-arity builtins get their arguments without a list; profiled runs take the general path
+    private Value callBuiltin(Environment environment, Builtin builtin, List<Expression> arguments) {
+        var count = arguments.size();
+        var first = evaluateNode(environment, arguments.get(0));
+        if (first.isError()) {
+            return first;
+        }
+        Value second = null;
+        Value third = null;
+        if (count > 1) {
+            second = evaluateNode(environment, arguments.get(1));
+            if (second.isError()) {
+                return second;
+            }
+        }
+        if (count > 2) {
+            third = evaluateNode(environment, arguments.get(2));
+            if (third.isError()) {
+                return third;
+            }
+        }
+        return callBuiltin(builtin, count, first, second, third);
+    }
+
+    Value callBuiltin(Builtin builtin, int count, Value first, Value second, Value third) {
+        var exhausted = budget.charge();
+        if (exhausted != null) {
+            return exhausted;
+        }
+        if (pure && builtin.sideEffects()) {
+            throw new SideEffectException(builtin.name());
+        }
+        var result = switch (count) {
+            case 1 -> builtin.apply(caller, first);
+            case 2 -> builtin.apply(caller, first, second);
+            default -> builtin.apply(caller, first, second, third);
+        };
+        exhausted = memory.chargeResult(result, first, second, third);
+        return exhausted != null ? exhausted : result;
+    }
+
+    Value account(Value value) {
+        var exhausted = memory.chargeNew(value);
+        return exhausted != null ? exhausted : value;
+    }
+
+    private Value applyFunction(Function function, CallSite.Target target, List<Value> args) {
+        Environment fnEnv = null;
+        while (true) {
+            if (jitThreshold >= 0) {
+                var compiled = Jit.call(function, args, jitThreshold, maxDepth - depth);
+                if (compiled != null) {
+                    return compiled;
+                }
+            }
+            var bound = bindArguments(function, target, args, fnEnv);
+            if (bound != fnEnv) {
+                var literal = function.literal();
+                var exhausted = memory.chargeEnvironment(
+                      literal.isResolved() ? literal.locals().size() : literal.parameters().size());
+                if (exhausted != null) {
+                    return exhausted;
+                }
+            }
+            fnEnv = bound;
+            var evaluated = function.code() != null
+                  ? function.code().evaluate(this, fnEnv)
+                  : evaluateBody(fnEnv, function.body(), true);
+            if (evaluated instanceof TailCall tailCall) {
+                if (tailCall.function().literal() != function.literal()
+                      || tailCall.function().environment() != function.environment()
+                      || tailCall.function().captured() != function.captured()) {
+                    fnEnv = null;
+                }
+                function = tailCall.function();
+                target = tailCall.target();
+                if (profiler != null) {
+                    profiler.exit();
+                    profiler.enter(function.literal());
+                }
+                args = tailCall.arguments();
+                continue;
             }
-            var evaluated = evaluate(fnEnv, function.body());
             if (evaluated.is(ReturnValue.class)) {
                 return evaluated.as(ReturnValue.class).value();
             }
             return evaluated;
-        } else if (functionObject.is(Builtin.class)) {
-            var builtin = functionObject.as(Builtin.class);
-            return builtin.function().apply(args.toArray(new Value[0]));
         }
-        return newError("Not a function: %s", functionObject.type());
+    }
+
+    private Environment bindArguments(Function function, CallSite.Target target, List<Value> args,
+          Environment previous) {
+        var slots = target.slots();
+        if (slots == null) {
+            var parameters = function.parameters();
+            var fnEnv = new Environment(function.environment());
+            for (int i = 0, n = parameters.size(); i < n; i++) {
+                fnEnv.set(parameters.get(i).value(), args.get(i));
+            }
+            return fnEnv;
+        }
+        Environment fnEnv;
+        // a self tail call can reuse the frame of the previous iteration unless a closure captured it
+        if (previous != null && !previous.isCaptured()) {
+            fnEnv = previous;
+            fnEnv.reset();
+        } else {
+            var literal = function.literal();
+            fnEnv = new Environment(function.environment(), literal.locals(), literal.cells(), function.captured());
+        }
+        for (int i = 0; i < slots.length; i++) {
+            fnEnv.set(slots[i], args.get(i));
+        }
+        return fnEnv;
+    }
+
+    private Value evaluateBody(Environment environment, BlockStatement block, boolean tail) {
+        Value result = NullValue.get();
+        var statements = block.statements();
+        for (int i = 0, n = statements.size(); i < n; i++) {
+            result = evaluateInFunction(environment, statements.get(i), tail && i == n - 1);
+            if (result.is(ReturnValue.class) || result.is(Error.class) || result.is(TailCall.class)) {
+                return result;
+            }
+        }
+        return result;
+    }
+
+    private Value evaluateInFunction(Environment environment, Statement statement, boolean tail) {
+        if (statement instanceof ReturnStatement returnStmt) {
+            var value = evaluateTail(environment, returnStmt.returnValue(), true);
+            return value.isError() || value.is(TailCall.class) ? value : new ReturnValue(value);
+        } else if (statement instanceof ExpressionStatement exprStmt) {
+            return evaluateTail(environment, exprStmt.expression(), tail);
+        } else if (statement instanceof BlockStatement block) {
+            return evaluateBody(environment, block, tail);
+        }
+        return evaluateNode(environment, statement);
+    }
+
+    private Value evaluateTail(Environment environment, Expression expression, boolean tail) {
+        if (expression instanceof IfExpression ifExpression) {
+            var condition = evaluateNode(environment, ifExpression.condition());
+            if (condition.isError()) {
+                return condition;
+            }
+            if (condition.isTruthy()) {
+                return evaluateBody(environment, ifExpression.consequence(), tail);
+            } else if (ifExpression.hasAlternative()) {
+                return evaluateBody(environment, ifExpression.alternative(), tail);
+            }
+            return NullValue.get();
+        } else if (tail && expression instanceof CallExpression call) {
+            return evaluateCall(environment, call, true);
+        }
+        return evaluateNode(environment, expression);
     }
 
     private List<Value> evaluateExpressions(Environment environment, List<Expression> args) {
         List<Value> evaluated = new ArrayList<>();
         for (Expression arg : args) {
-            var value = evaluate(environment, arg);
+            var value = evaluateNode(environment, arg);
             if (value.isError()) {
                 return List.of(value);
             }
@@ -174,14 +488,18 @@ public class Evaluator {
         requireNonNull(environment, "environment can't be null");
         requireNonNull(identifier, "identifier can't be null");
 
-        Value value = environment.get(identifier.value());
+        Value value = identifier.isResolved()
+              ? environment.get(identifier.coordinate(), identifier.value())
+              : environment.get(identifier.value());
         if (value.isNotNull()) {
             return value;
         }
 
-        Value builtinFunction = builtinFunctions.get(identifier.value());
-        if (builtinFunction.isNotNull()) {
-            return builtinFunction;
+        var builtin = identifier.builtin() != null
+              ? identifier.builtin()
+              : BuiltinRegistry.STANDARD.get(identifier.value());
+        if (builtin != null) {
+            return builtin;
         }
         return newError("Identifier not found: " + identifier.value());
     }
@@ -190,108 +508,25 @@ public class Evaluator {
         requireNonNull(environment, "environment can't be null");
         requireNonNull(ifExpression, "ifExpression can't be null");
 
-        var condition = evaluate(environment, ifExpression.condition());
+        var condition = evaluateNode(environment, ifExpression.condition());
         if (condition.isError()) {
             return condition;
         }
         if (condition.isTruthy()) {
-            return evaluate(environment, ifExpression.consequence());
+            return evaluateNode(environment, ifExpression.consequence());
         } else if (ifExpression.hasAlternative()) {
-            return evaluate(environment, ifExpression.alternative());
+            return evaluateNode(environment, ifExpression.alternative());
         }
         return NullValue.get();
     }
 
-    private Value evaluateInfixExpression(String operator, Value left, Value right) {
-        Objects.requireNonNull(operator, "operator can't be null");
-        Objects.requireNonNull(left, "left can't be null");
-        Objects.requireNonNull(right, "right can't be null");
-
-        if (ValueType.STRING.equals(left.type()) && ValueType.STRING.equals(right.type())) {
-            return evaluateStringInfixExpression(operator, left.as(StringValue.class), right.as(StringValue.class));
-        } else if (ValueType.INTEGER.equals(left.type()) && ValueType.INTEGER.equals(right.type())) {
-            return evaluateIntegerInfixExpression(operator, left.as(IntegerValue.class), right.as(IntegerValue.class));
-        } else if ("==".equalsIgnoreCase(operator)) {
-            return BooleanValue.from(left == right);
-        } else if ("!=".equalsIgnoreCase(operator)) {
-            return BooleanValue.from(left != right);
-        } else if (!left.type().equals(right.type())) {
-            return newError("Type mismatch: %s %s %s", left.type(), operator, right.type());
-        } else {
-            return newError("Unknown operator: %s %s %s", left.type(), operator, right.type());
-        }
-    }
-
-    private Value evaluateStringInfixExpression(String operator, StringValue left, StringValue right) {
-        requireNonNull(operator, "operator can't be null");
-        requireNonNull(left, "left can't be null");
-        requireNonNull(right, "right can't be null");
-
-        if (!operator.equals("+")) {
-            return newError("Unknown operator: %s %s %s", left.type(), operator, right.type());
-        }
-        return new StringValue(left.value() + right.value());
-    }
-
-    private Value evaluateIntegerInfixExpression(String operator, IntegerValue left, IntegerValue right) {
-        requireNonNull(operator, "operator can't be null");
-        requireNonNull(left, "left can't be null");
-        requireNonNull(right, "right can't be null");
-
-        return switch (operator) {
-            case "+" -> new IntegerValue(left.value() + right.value());
-            case "-" -> new IntegerValue(left.value() - right.value());
-            case "*" -> new IntegerValue(left.value() * right.value());
-            case "/" -> new IntegerValue(left.value() / right.value());
-            case "<" -> BooleanValue.from(left.value() < right.value());
-            case ">" -> BooleanValue.from(left.value() > right.value());
-            case "==" -> BooleanValue.from(left.value() == right.value());
-            case "!=" -> BooleanValue.from(left.value() != right.value());
-            default -> newError("Unknown operator: %s %s %s", left.type(), operator, right.type());
-        };
-    }
-
-    private Value evaluatePrefixExpression(String operator, Value right) {
-        requireNonNull(operator, "operator can't be null");
-        requireNonNull(right, "right can't be null");
-
-        return switch (operator) {
-            case "!" -> evaluateBangOperator(right);
-            case "-" -> evaluateMinusOperator(right);
-            default -> newError("Unknown operator: %s%s", operator, right.type());
-        };
-    }
-
-    private Value evaluateMinusOperator(Value right) {
-        requireNonNull(right, "right can't be null");
-
-        if (!ValueType.INTEGER.equals(right.type())) {
-            return newError("Unknown operator: -%s", right.type());
-        }
-        return new IntegerValue(-right.as(IntegerValue.class).value());
-    }
-
-    private Value evaluateBangOperator(Value right) {
-        requireNonNull(right, "right can't be null");
-
-        if (BooleanValue.TRUE.equals(right)) {
-            return BooleanValue.FALSE;
-        } else if (BooleanValue.FALSE.equals(right)) {
-            return BooleanValue.TRUE;
-        } else if (NullValue.get().equals(right)) {
-            return BooleanValue.TRUE;
-        } else {
-            return BooleanValue.FALSE;
-        }
-    }
-
     private Value evaluateProgram(Environment environment, Program program) {
         requireNonNull(environment, "environment can't be null");
         requireNonNull(program, "program can't be null");
 
         Value result = NullValue.get();
         for (Statement statement : program.statements()) {
-            result = evaluate(environment, statement);
+            result = evaluateNode(environment, statement);
             if (result.is(ReturnValue.class)) {
                 return result.as(ReturnValue.class).value();
             } else if (result.is(Error.class)) {
@@ -307,7 +542,7 @@ public class Evaluator {
 
         Value result = NullValue.get();
         for (Statement statement : blockStatement.statements()) {
-            result = evaluate(environment, statement);
+            result = evaluateNode(environment, statement);
             if (result.is(ReturnValue.class) || result.is(Error.class)) {
                 return result;
             }
@@ -316,7 +551,21 @@ public class Evaluator {
     }
 
     private Error newError(String format, Object... args) {
-        return new Error(String.format(format, args));
+        return Operators.newError(format, args);
+    }
+
+    private final class EvaluatorCaller implements Caller {
+
+        @Override
+        public Value call(Value function, Value... arguments) {
+            var target = function instanceof Function fn ? CallSite.Target.of(fn.literal(), null) : null;
+            return Evaluator.this.call(function, target, Arrays.asList(arguments), false);
+        }
+
+        @Override
+        public Caller forkPure() {
+            return forkable ? new Evaluator(Limits.NONE.withMaxDepth(maxDepth), null, true).caller : null;
+        }
     }
 
 }
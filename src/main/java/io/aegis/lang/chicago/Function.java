@@ -1,9 +1,54 @@
 package io.aegis.lang.chicago;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
-public record Function(List<Identifier> parameters, BlockStatement body, Environment environment)
-      implements Value {
+// a resolved function keeps its captured cells, an unresolved one every enclosing frame
+public final class Function implements Value {
+
+    static final Cell[] NO_CAPTURES = new Cell[0];
+
+    private final FunctionLiteral literal;
+    private final Environment environment;
+    private final Cell[] captured;
+    private final CompiledNode code;
+
+    public Function(FunctionLiteral literal, Environment environment) {
+        this(literal, environment, NO_CAPTURES, null);
+    }
+
+    // code is null for a function the evaluator walks
+    Function(FunctionLiteral literal, Environment environment, Cell[] captured, CompiledNode code) {
+        this.literal = Objects.requireNonNull(literal, "literal can't be null");
+        this.environment = Objects.requireNonNull(environment, "environment can't be null");
+        this.captured = Objects.requireNonNull(captured, "captured can't be null");
+        this.code = code;
+    }
+
+    public FunctionLiteral literal() {
+        return literal;
+    }
+
+    public Environment environment() {
+        return environment;
+    }
+
+    Cell[] captured() {
+        return captured;
+    }
+
+    CompiledNode code() {
+        return code;
+    }
+
+    public List<Identifier> parameters() {
+        return literal.parameters();
+    }
+
+    public BlockStatement body() {
+        return literal.body();
+    }
 
     @Override
     public String type() {
@@ -12,12 +57,12 @@ public record Function(List<Identifier> parameters, BlockStatement body, Environ
 
     @Override
     public String inspect() {
-        var paramsAsString = parameters.stream().map(Identifier::toString).toList();
+        var paramsAsString = parameters().stream().map(Identifier::toString).toList();
         return new StringBuilder("fn(")
               .append(paramsAsString)
               .append(") {")
               .append(System.lineSeparator())
-              .append(body.toString())
+              .append(body().toString())
               .append(System.lineSeparator())
               .append("}")
               .toString();
@@ -27,4 +72,21 @@ public record Function(List<Identifier> parameters, BlockStatement body, Environ
     public boolean isTruthy() {
         return true;
     }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Function other && literal.equals(other.literal) && environment == other.environment
+              && Arrays.equals(captured, other.captured);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(literal, System.identityHashCode(environment), Arrays.hashCode(captured));
+    }
+
+    @Override
+    public String toString() {
+        return "Function[literal=" + literal + "]";
+    }
+
 }
@@ -5,13 +5,77 @@ import static java.util.stream.Collectors.joining;
 import java.util.List;
 import java.util.Objects;
 
-public record FunctionLiteral(Token token, List<Identifier> parameters, BlockStatement body)
-      implements Expression {
+// locals, captures and cells are filled in by the resolver
+public final class FunctionLiteral implements Expression {
 
-    public FunctionLiteral {
-        Objects.requireNonNull(token, "token can't be null");
-        Objects.requireNonNull(parameters, "parameters can't be null");
-        Objects.requireNonNull(body, "body can't be null");
+    private final Token token;
+    private final List<Identifier> parameters;
+    private final BlockStatement body;
+    private final List<String> locals;
+    private final List<Capture> captures;
+    private final List<Integer> cells;
+    // threads racing on these may miss a count or compile twice, which only costs time
+    private int calls;
+    private Jit.Compiled compiled;
+
+    public FunctionLiteral(Token token, List<Identifier> parameters, BlockStatement body, List<String> locals,
+          List<Capture> captures, List<Integer> cells) {
+        this.token = Objects.requireNonNull(token, "token can't be null");
+        this.parameters = List.copyOf(Objects.requireNonNull(parameters, "parameters can't be null"));
+        this.body = Objects.requireNonNull(body, "body can't be null");
+        if (locals != null) {
+            this.locals = List.copyOf(locals);
+            this.captures = List.copyOf(Objects.requireNonNull(captures, "captures can't be null"));
+            this.cells = List.copyOf(Objects.requireNonNull(cells, "cells can't be null"));
+        } else {
+            this.locals = null;
+            this.captures = captures;
+            this.cells = cells;
+        }
+    }
+
+    public FunctionLiteral(Token token, List<Identifier> parameters, BlockStatement body) {
+        this(token, parameters, body, null, null, null);
+    }
+
+    public Token token() {
+        return token;
+    }
+
+    public List<Identifier> parameters() {
+        return parameters;
+    }
+
+    public BlockStatement body() {
+        return body;
+    }
+
+    public List<String> locals() {
+        return locals;
+    }
+
+    public List<Capture> captures() {
+        return captures;
+    }
+
+    public List<Integer> cells() {
+        return cells;
+    }
+
+    public boolean isResolved() {
+        return locals != null;
+    }
+
+    int countCall() {
+        return ++calls;
+    }
+
+    Jit.Compiled compiled() {
+        return compiled;
+    }
+
+    void compiled(Jit.Compiled compiled) {
+        this.compiled = compiled;
     }
 
     @Override
@@ -19,6 +83,26 @@ public record FunctionLiteral(Token token, List<Identifier> parameters, BlockSta
         return token.literal();
     }
 
+    // a local slot of the enclosing function, or one of its own captured cells
+    public record Capture(boolean local, int index) {
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof FunctionLiteral other
+              && token.equals(other.token)
+              && parameters.equals(other.parameters)
+              && body.equals(other.body)
+              && Objects.equals(locals, other.locals)
+              && Objects.equals(captures, other.captures)
+              && Objects.equals(cells, other.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(token, parameters, body, locals, captures, cells);
+    }
+
     @Override
     public String toString() {
         return new StringBuilder()
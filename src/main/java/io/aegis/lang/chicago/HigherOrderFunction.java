@@ -0,0 +1,15 @@
+package io.aegis.lang.chicago;
+
+// applied without a caller it returns an Error
+@FunctionalInterface
+interface HigherOrderFunction extends BuiltinFunction {
+
+    @Override
+    Value apply(Caller caller, Value... args);
+
+    @Override
+    default Value apply(Value... args) {
+        return new Error("A builtin that takes functions needs a Caller to call them");
+    }
+
+}
@@ -0,0 +1,68 @@
+package io.aegis.lang.chicago;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class HostValues {
+
+    private HostValues() {
+        super();
+    }
+
+    static Value toValue(Object host) {
+        if (host == null) {
+            return NullValue.get();
+        } else if (host instanceof Value value) {
+            return value;
+        } else if (host instanceof Long || host instanceof Integer || host instanceof Short || host instanceof Byte) {
+            return IntegerValue.of(((Number) host).longValue());
+        } else if (host instanceof Boolean bool) {
+            return BooleanValue.from(bool);
+        } else if (host instanceof CharSequence chars) {
+            return new StringValue(chars.toString());
+        } else if (host instanceof Collection<?> collection) {
+            List<Value> elements = new ArrayList<>(collection.size());
+            for (Object element : collection) {
+                elements.add(toValue(element));
+            }
+            return new Array(elements);
+        } else if (host instanceof Object[] array) {
+            return toValue(Arrays.asList(array));
+        } else if (host instanceof Map<?, ?> map) {
+            PersistentHashMap<Value, Value> pairs = PersistentHashMap.empty();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                pairs = pairs.plus(toValue(entry.getKey()), toValue(entry.getValue()));
+            }
+            return new Dictionary(pairs);
+        }
+        throw new IllegalArgumentException("Cannot convert " + host.getClass().getName() + " to a Chicago value");
+    }
+
+    static Object toJava(Value value) {
+        if (value instanceof IntegerValue integer) {
+            return integer.value();
+        } else if (value instanceof BooleanValue bool) {
+            return bool.value();
+        } else if (value instanceof StringValue string) {
+            return string.value();
+        } else if (value.isNull()) {
+            return null;
+        } else if (value instanceof Array array) {
+            List<Object> elements = new ArrayList<>(array.size());
+            for (Value element : array.elements()) {
+                elements.add(toJava(element));
+            }
+            return elements;
+        } else if (value instanceof Dictionary dictionary) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            dictionary.pairs().forEach((k, v) -> map.put(toJava(k), toJava(v)));
+            return map;
+        }
+        return value;
+    }
+
+}
@@ -2,13 +2,34 @@ package io.aegis.lang.chicago;
 
 import java.util.Objects;
 
-public record Identifier(Token token, String value) implements Expression {
+// coordinate and builtin are null until the resolver fills them in
+public record Identifier(Token token, String value, Coordinate coordinate, Builtin builtin) implements Expression {
 
     public Identifier {
         Objects.requireNonNull(token, "token can't be null");
         Objects.requireNonNull(value, "value can't be null");
     }
 
+    public Identifier(Token token, String value) {
+        this(token, value, null, null);
+    }
+
+    public boolean isResolved() {
+        return coordinate != null;
+    }
+
+    public Identifier resolvedTo(Coordinate coordinate) {
+        Objects.requireNonNull(coordinate, "coordinate can't be null");
+
+        return new Identifier(token, value, coordinate, builtin);
+    }
+
+    public Identifier withBuiltin(Builtin builtin) {
+        Objects.requireNonNull(builtin, "builtin can't be null");
+
+        return new Identifier(token, value, coordinate, builtin);
+    }
+
     @Override
     public String tokenLiteral() {
         return token.literal();
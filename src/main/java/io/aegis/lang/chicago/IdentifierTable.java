@@ -0,0 +1,54 @@
+package io.aegis.lang.chicago;
+
+// one canonical, interned IDENT token per name
+final class IdentifierTable {
+
+    private Token[] tokens = new Token[64];
+    private int size;
+
+    Token intern(CharSequence chars) {
+        var mask = tokens.length - 1;
+        var index = hash(chars) & mask;
+        Token token;
+        while ((token = tokens[index]) != null) {
+            if (token.literal().contentEquals(chars)) {
+                return token;
+            }
+            index = (index + 1) & mask;
+        }
+        token = Token.newIdentifier(chars.toString().intern());
+        tokens[index] = token;
+        if (++size * 2 > tokens.length) {
+            resize();
+        }
+        return token;
+    }
+
+    private void resize() {
+        var old = tokens;
+        tokens = new Token[old.length * 2];
+        var mask = tokens.length - 1;
+        for (Token token : old) {
+            if (token != null) {
+                var index = token.literal().hashCode() & mask;
+                while (tokens[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                tokens[index] = token;
+            }
+        }
+    }
+
+    // same function as String.hashCode, so resize can reuse the cached hash of the interned literal
+    private static int hash(CharSequence chars) {
+        var hash = 0;
+        for (int i = 0, n = chars.length(); i < n; i++) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+        return hash;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -2,13 +2,96 @@ package io.aegis.lang.chicago;
 
 import java.util.Objects;
 
-public record InfixExpression(Token token, Expression left, String operator, Expression right) implements Expression {
+// specialized for the first operand types it sees, generic for good once they change
+public final class InfixExpression implements Expression {
 
-    public InfixExpression {
-        Objects.requireNonNull(token, "token can't be null");
-        Objects.requireNonNull(left, "left can't be null");
-        Objects.requireNonNull(operator, "operator can't be null");
-        Objects.requireNonNull(right, "right can't be null");
+    private final Token token;
+    private final Expression left;
+    private final String operator;
+    private final Expression right;
+    private final Operator resolvedOperator;
+    private Specialization specialization = Specialization.UNINITIALIZED;
+
+    public InfixExpression(Token token, Expression left, String operator, Expression right) {
+        this.token = Objects.requireNonNull(token, "token can't be null");
+        this.left = Objects.requireNonNull(left, "left can't be null");
+        this.operator = Objects.requireNonNull(operator, "operator can't be null");
+        this.right = Objects.requireNonNull(right, "right can't be null");
+        this.resolvedOperator = Operator.fromSymbol(operator);
+    }
+
+    public Token token() {
+        return token;
+    }
+
+    public Expression left() {
+        return left;
+    }
+
+    public String operator() {
+        return operator;
+    }
+
+    public Expression right() {
+        return right;
+    }
+
+    Operator resolvedOperator() {
+        return resolvedOperator;
+    }
+
+    Specialization specialization() {
+        return specialization;
+    }
+
+    Value apply(Value leftValue, Value rightValue) {
+        return switch (specialization) {
+            case INTEGER_ADD -> leftValue instanceof IntegerValue l && rightValue instanceof IntegerValue r
+                  ? IntegerValue.of(l.value() + r.value())
+                  : generalize(leftValue, rightValue);
+            case INTEGER_SUBTRACT -> leftValue instanceof IntegerValue l && rightValue instanceof IntegerValue r
+                  ? IntegerValue.of(l.value() - r.value())
+                  : generalize(leftValue, rightValue);
+            case INTEGER_MULTIPLY -> leftValue instanceof IntegerValue l && rightValue instanceof IntegerValue r
+                  ? IntegerValue.of(l.value() * r.value())
+                  : generalize(leftValue, rightValue);
+            case INTEGER_DIVIDE -> leftValue instanceof IntegerValue l && rightValue instanceof IntegerValue r
+                  ? IntegerValue.of(l.value() / r.value())
+                  : generalize(leftValue, rightValue);
+            case INTEGER_LESS_THAN -> leftValue instanceof IntegerValue l && rightValue instanceof IntegerValue r
+                  ? BooleanValue.from(l.value() < r.value())
+                  : generalize(leftValue, rightValue);
+            case INTEGER_GREATER_THAN -> leftValue instanceof IntegerValue l && rightValue instanceof IntegerValue r
+                  ? BooleanValue.from(l.value() > r.value())
+                  : generalize(leftValue, rightValue);
+            case INTEGER_EQUAL -> leftValue instanceof IntegerValue l && rightValue instanceof IntegerValue r
+                  ? BooleanValue.from(l.value() == r.value())
+                  : generalize(leftValue, rightValue);
+            case INTEGER_NOT_EQUAL -> leftValue instanceof IntegerValue l && rightValue instanceof IntegerValue r
+                  ? BooleanValue.from(l.value() != r.value())
+                  : generalize(leftValue, rightValue);
+            case STRING_CONCAT -> leftValue instanceof StringValue l && rightValue instanceof StringValue r
+                  ? Operators.concat(l, r)
+                  : generalize(leftValue, rightValue);
+            case GENERIC -> generic(leftValue, rightValue);
+            case UNINITIALIZED -> specialize(leftValue, rightValue);
+        };
+    }
+
+    private Value specialize(Value leftValue, Value rightValue) {
+        specialization = Specialization.of(resolvedOperator, leftValue, rightValue);
+        return generic(leftValue, rightValue);
+    }
+
+    private Value generalize(Value leftValue, Value rightValue) {
+        specialization = Specialization.GENERIC;
+        return generic(leftValue, rightValue);
+    }
+
+    private Value generic(Value leftValue, Value rightValue) {
+        return resolvedOperator != null
+              ? Operators.infix(resolvedOperator, leftValue, rightValue)
+              : Operators.infix(operator, leftValue, rightValue);
     }
 
     @Override
@@ -16,8 +99,55 @@ public record InfixExpression(Token token, Expression left, String operator, Exp
         return token.literal();
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof InfixExpression other && token.equals(other.token) && left.equals(other.left)
+              && operator.equals(other.operator) && right.equals(other.right);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(token, left, operator, right);
+    }
+
     @Override
     public String toString() {
         return "(" + left + " " + operator + " " + right + ")";
     }
+
+    enum Specialization {
+        UNINITIALIZED,
+        INTEGER_ADD,
+        INTEGER_SUBTRACT,
+        INTEGER_MULTIPLY,
+        INTEGER_DIVIDE,
+        INTEGER_LESS_THAN,
+        INTEGER_GREATER_THAN,
+        INTEGER_EQUAL,
+        INTEGER_NOT_EQUAL,
+        STRING_CONCAT,
+        GENERIC;
+
+        private static Specialization of(Operator operator, Value left, Value right) {
+            if (operator == null) {
+                return GENERIC;
+            } else if (left instanceof IntegerValue && right instanceof IntegerValue) {
+                return switch (operator) {
+                    case PLUS -> INTEGER_ADD;
+                    case MINUS -> INTEGER_SUBTRACT;
+                    case ASTERISK -> INTEGER_MULTIPLY;
+                    case SLASH -> INTEGER_DIVIDE;
+                    case LESS_THAN -> INTEGER_LESS_THAN;
+                    case GREATER_THAN -> INTEGER_GREATER_THAN;
+                    case EQUAL -> INTEGER_EQUAL;
+                    case NOT_EQUAL -> INTEGER_NOT_EQUAL;
+                    default -> GENERIC;
+                };
+            } else if (left instanceof StringValue && right instanceof StringValue && operator == Operator.PLUS) {
+                return STRING_CONCAT;
+            }
+            return GENERIC;
+        }
+    }
+
 }
@@ -2,10 +2,19 @@ package io.aegis.lang.chicago;
 
 import java.util.Objects;
 
-public record IntegerLiteral(Token token, long value) implements Expression {
+public record IntegerLiteral(Token token, IntegerValue integer) implements Expression {
 
     public IntegerLiteral {
         Objects.requireNonNull(token, "token can't be null");
+        Objects.requireNonNull(integer, "integer can't be null");
+    }
+
+    public IntegerLiteral(Token token, long value) {
+        this(token, IntegerValue.of(value));
+    }
+
+    public long value() {
+        return integer.value();
     }
 
     @Override
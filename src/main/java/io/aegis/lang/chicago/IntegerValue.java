@@ -2,6 +2,9 @@ package io.aegis.lang.chicago;
 
 public record IntegerValue(long value) implements Value {
 
+    static final String CACHE_LOW_PROPERTY = "chicago.integerCache.low";
+    static final String CACHE_HIGH_PROPERTY = "chicago.integerCache.high";
+
     @Override
     public String type() {
         return ValueType.INTEGER;
@@ -31,7 +34,28 @@ public record IntegerValue(long value) implements Value {
     }
 
     public static IntegerValue of(long value) {
+        if (value >= Cache.LOW && value <= Cache.HIGH) {
+            return Cache.VALUES[(int) (value - Cache.LOW)];
+        }
         return new IntegerValue(value);
     }
 
+    private static final class Cache {
+
+        private static final long LOW = Long.getLong(CACHE_LOW_PROPERTY, -128L);
+        private static final long HIGH = Long.getLong(CACHE_HIGH_PROPERTY, 1024L);
+        private static final IntegerValue[] VALUES = createValues();
+
+        private static IntegerValue[] createValues() {
+            if (HIGH < LOW || HIGH - LOW >= Integer.MAX_VALUE) {
+                throw new IllegalStateException("Invalid integer cache range [" + LOW + ", " + HIGH + "]");
+            }
+            var values = new IntegerValue[(int) (HIGH - LOW + 1)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = new IntegerValue(LOW + i);
+            }
+            return values;
+        }
+    }
+
 }
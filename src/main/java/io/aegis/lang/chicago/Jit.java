@@ -0,0 +1,83 @@
+package io.aegis.lang.chicago;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+
+// off unless the chicago.jit.threshold property is 0 or more, as it defines classes at run time
+final class Jit {
+
+    static final String THRESHOLD_PROPERTY = "chicago.jit.threshold";
+
+    private static final int DEFAULT_THRESHOLD = -1;
+
+    static final Compiled NOT_COMPILABLE = new Compiled(null, null);
+
+    private static final DepthExceededException DEPTH_EXCEEDED = new DepthExceededException();
+
+    private Jit() {
+    }
+
+    static int threshold() {
+        return Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD);
+    }
+
+    // null when the evaluator has to make the call itself
+    static Value call(Function function, List<Value> args, int threshold, int depth) {
+        var literal = function.literal();
+        var compiled = literal.compiled();
+        if (compiled == null) {
+            if (literal.countCall() < threshold) {
+                return null;
+            }
+            compiled = compile(literal);
+            literal.compiled(compiled);
+        }
+        if (compiled == NOT_COMPILABLE
+              || compiled.self() != null && function.environment().get(compiled.self()) != function) {
+            return null;
+        }
+        var arguments = new long[args.size()];
+        for (int i = 0; i < arguments.length; i++) {
+            if (!(args.get(i) instanceof IntegerValue integer)) {
+                return null;
+            }
+            arguments[i] = integer.value();
+        }
+        try {
+            return IntegerValue.of(compiled.kernel().invoke(depth, arguments));
+        } catch (DepthExceededException ex) {
+            return null;
+        }
+    }
+
+    // called by kernels
+    static long depthExceeded() {
+        throw DEPTH_EXCEEDED;
+    }
+
+    static Compiled compile(FunctionLiteral literal) {
+        var result = JitCompiler.compile(literal);
+        if (result == null) {
+            return NOT_COMPILABLE;
+        }
+        try {
+            var kernelClass = MethodHandles.lookup().defineHiddenClass(result.classFile(), true).lookupClass();
+            var kernel = (Kernel) kernelClass.getConstructor().newInstance();
+            return new Compiled(kernel, result.self());
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            // a refused class is a bug, but the evaluator can still run the function
+            return NOT_COMPILABLE;
+        }
+    }
+
+    record Compiled(Kernel kernel, String self) {
+    }
+
+    private static final class DepthExceededException extends RuntimeException {
+
+        private DepthExceededException() {
+            super(null, null, false, false);
+        }
+    }
+
+}
@@ -0,0 +1,368 @@
+package io.aegis.lang.chicago;
+
+import static io.aegis.lang.chicago.ClassFileWriter.ACC_PUBLIC;
+import static io.aegis.lang.chicago.ClassFileWriter.ACC_STATIC;
+
+import io.aegis.lang.chicago.ClassFileWriter.Code;
+import io.aegis.lang.chicago.ClassFileWriter.Label;
+import io.aegis.lang.chicago.ClassFileWriter.Type;
+import java.util.Collections;
+import java.util.List;
+
+// integer-only functions as a Kernel, computing exactly what the evaluator would
+final class JitCompiler {
+
+    static final String KERNEL_CLASS = "io/aegis/lang/chicago/JitKernel";
+
+    private static final String KERNEL_INTERFACE = "io/aegis/lang/chicago/Kernel";
+    private static final String JIT_CLASS = "io/aegis/lang/chicago/Jit";
+    private static final String OBJECT_CLASS = "java/lang/Object";
+    // two slots per long, one of them the depth left, and one-byte local indexes
+    private static final int MAX_LOCALS = 126;
+    private static final int DEPTH = 0;
+    private static final int MAX_CODE_SIZE = 16 * 1024;
+
+    private final FunctionLiteral literal;
+    private final String descriptor;
+    private final boolean[] assigned;
+    private Code code;
+    private Label start;
+    private String self;
+
+    private JitCompiler(FunctionLiteral literal) {
+        this.literal = literal;
+        this.descriptor = "(" + "J".repeat(literal.parameters().size() + 1) + ")J";
+        this.assigned = new boolean[literal.locals().size()];
+    }
+
+    static Result compile(FunctionLiteral literal) {
+        if (!literal.isResolved() || !literal.captures().isEmpty() || literal.locals().size() > MAX_LOCALS) {
+            return null;
+        }
+        var parameters = literal.parameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            var coordinate = parameters.get(i).coordinate();
+            if (coordinate == null || !coordinate.isLocal() || coordinate.slot() != i) {
+                return null;
+            }
+        }
+        try {
+            return new JitCompiler(literal).compile();
+        } catch (NotCompilableException ex) {
+            return null;
+        }
+    }
+
+    private Result compile() {
+        var writer = new ClassFileWriter(KERNEL_CLASS, OBJECT_CLASS, KERNEL_INTERFACE);
+        code = writer.method(ACC_PUBLIC | ACC_STATIC, "apply", descriptor,
+              Collections.nCopies(literal.locals().size() + 1, Type.LONG));
+        var arity = literal.parameters().size();
+        for (int slot = 0; slot < assigned.length; slot++) {
+            if (slot < arity) {
+                assigned[slot] = true;
+            } else {
+                // locals the parameters don't fill start out as 0
+                code.pushLong(0);
+                code.storeLong(local(slot));
+            }
+        }
+        start = new Label();
+        code.loadLong(DEPTH);
+        code.pushLong(0);
+        code.compareLongs();
+        code.jump(ClassFileWriter.IFGE, start);
+        code.invoke(ClassFileWriter.INVOKESTATIC, JIT_CLASS, "depthExceeded", "()J");
+        code.returnLong();
+        code.bind(start);
+        compileTail(literal.body().statements(), true);
+        if (code.offset() > MAX_CODE_SIZE) {
+            return null;
+        }
+        writeConstructor(writer);
+        writeInvoke(writer, arity);
+        return new Result(writer.toByteArray(), self);
+    }
+
+    private void writeConstructor(ClassFileWriter writer) {
+        var constructor = writer.method(ACC_PUBLIC, "<init>", "()V", List.of(Type.REFERENCE));
+        constructor.loadReference(0);
+        constructor.invoke(ClassFileWriter.INVOKESPECIAL, OBJECT_CLASS, "<init>", "()V");
+        constructor.returnVoid();
+    }
+
+    private void writeInvoke(ClassFileWriter writer, int arity) {
+        var invoke = writer.method(ACC_PUBLIC, "invoke", "(J[J)J", List.of(Type.REFERENCE, Type.LONG, Type.REFERENCE));
+        invoke.loadLong(1);
+        for (int i = 0; i < arity; i++) {
+            invoke.loadReference(3);
+            invoke.pushInt(i);
+            invoke.loadLongElement();
+        }
+        invoke.invoke(ClassFileWriter.INVOKESTATIC, KERNEL_CLASS, "apply", descriptor);
+        invoke.returnLong();
+    }
+
+    private void compileTail(List<Statement> statements, boolean topLevel) {
+        if (statements.isEmpty()) {
+            throw new NotCompilableException();
+        }
+        var last = statements.size() - 1;
+        for (int i = 0; i < last && code.isReachable(); i++) {
+            compileStatement(statements.get(i), topLevel);
+        }
+        if (!code.isReachable()) {
+            return;
+        }
+        var statement = statements.get(last);
+        if (statement instanceof ReturnStatement returnStmt) {
+            compileReturn(returnStmt.returnValue());
+        } else if (statement instanceof ExpressionStatement exprStmt) {
+            compileReturn(exprStmt.expression());
+        } else if (statement instanceof BlockStatement block) {
+            compileTail(block.statements(), false);
+        } else {
+            throw new NotCompilableException();
+        }
+    }
+
+    private void compileReturn(Expression expression) {
+        if (expression instanceof IfExpression ifExpression) {
+            if (!ifExpression.hasAlternative()) {
+                throw new NotCompilableException();
+            }
+            var otherwise = new Label();
+            compileJumpIfFalse(ifExpression.condition(), otherwise);
+            compileTail(ifExpression.consequence().statements(), false);
+            code.bind(otherwise);
+            compileTail(ifExpression.alternative().statements(), false);
+        } else if (expression instanceof CallExpression call && isSelfCall(call)) {
+            for (Expression argument : call.arguments()) {
+                compileInteger(argument);
+            }
+            for (int slot = call.arguments().size() - 1; slot >= 0; slot--) {
+                code.storeLong(local(slot));
+            }
+            code.jump(ClassFileWriter.GOTO, start);
+        } else {
+            compileInteger(expression);
+            code.returnLong();
+        }
+    }
+
+    private void compileStatement(Statement statement, boolean topLevel) {
+        if (statement instanceof LetStatement letStmt) {
+            var coordinate = letStmt.name().coordinate();
+            // a let in a branch may not run, and then a later read falls back to the globals
+            if (!topLevel || coordinate == null || !coordinate.isLocal()) {
+                throw new NotCompilableException();
+            }
+            compileInteger(letStmt.value());
+            code.storeLong(local(coordinate.slot()));
+            assigned[coordinate.slot()] = true;
+        } else if (statement instanceof ReturnStatement returnStmt) {
+            compileReturn(returnStmt.returnValue());
+        } else if (statement instanceof ExpressionStatement exprStmt) {
+            if (exprStmt.expression() instanceof IfExpression ifExpression) {
+                compileIfStatement(ifExpression);
+            } else {
+                compileExpression(exprStmt.expression());
+                code.pop();
+            }
+        } else if (statement instanceof BlockStatement block) {
+            compileStatements(block.statements());
+        } else {
+            throw new NotCompilableException();
+        }
+    }
+
+    private void compileStatements(List<Statement> statements) {
+        for (int i = 0; i < statements.size() && code.isReachable(); i++) {
+            compileStatement(statements.get(i), false);
+        }
+    }
+
+    private void compileIfStatement(IfExpression ifExpression) {
+        var otherwise = new Label();
+        compileJumpIfFalse(ifExpression.condition(), otherwise);
+        compileStatements(ifExpression.consequence().statements());
+        if (!ifExpression.hasAlternative()) {
+            code.bind(otherwise);
+            return;
+        }
+        var end = new Label();
+        if (code.isReachable()) {
+            code.jump(ClassFileWriter.GOTO, end);
+        }
+        code.bind(otherwise);
+        compileStatements(ifExpression.alternative().statements());
+        code.bind(end);
+    }
+
+    private void compileInteger(Expression expression) {
+        if (compileExpression(expression) != Type.LONG) {
+            throw new NotCompilableException();
+        }
+    }
+
+    // a long for an integer, an int of 0 or 1 for a boolean
+    private Type compileExpression(Expression expression) {
+        if (expression instanceof IntegerLiteral integer) {
+            code.pushLong(integer.value());
+            return Type.LONG;
+        } else if (expression instanceof BooleanLiteral booleanLiteral) {
+            code.pushInt(booleanLiteral.value() ? 1 : 0);
+            return Type.INT;
+        } else if (expression instanceof Identifier identifier) {
+            var coordinate = identifier.coordinate();
+            if (coordinate == null || !coordinate.isLocal() || !assigned[coordinate.slot()]) {
+                throw new NotCompilableException();
+            }
+            code.loadLong(local(coordinate.slot()));
+            return Type.LONG;
+        } else if (expression instanceof PrefixExpression prefix) {
+            var right = compileExpression(prefix.right());
+            if (prefix.resolvedOperator() == Operator.MINUS && right == Type.LONG) {
+                code.negateLong();
+                return Type.LONG;
+            } else if (prefix.resolvedOperator() == Operator.BANG && right == Type.INT) {
+                code.pushInt(1);
+                code.xorInts();
+                return Type.INT;
+            }
+        } else if (expression instanceof InfixExpression infix) {
+            var opcode = arithmeticOpcode(infix.resolvedOperator());
+            if (opcode < 0) {
+                return compileCondition(infix);
+            }
+            compileInteger(infix.left());
+            compileInteger(infix.right());
+            code.longArithmetic(opcode);
+            return Type.LONG;
+        } else if (expression instanceof IfExpression ifExpression) {
+            return compileIfExpression(ifExpression);
+        } else if (expression instanceof CallExpression call && isSelfCall(call)) {
+            code.loadLong(DEPTH);
+            code.pushLong(1);
+            code.longArithmetic(ClassFileWriter.LSUB);
+            for (Expression argument : call.arguments()) {
+                compileInteger(argument);
+            }
+            code.invoke(ClassFileWriter.INVOKESTATIC, KERNEL_CLASS, "apply", descriptor);
+            return Type.LONG;
+        }
+        throw new NotCompilableException();
+    }
+
+    private Type compileCondition(Expression condition) {
+        var otherwise = new Label();
+        var end = new Label();
+        compileJumpIfFalse(condition, otherwise);
+        code.pushInt(1);
+        code.jump(ClassFileWriter.GOTO, end);
+        code.bind(otherwise);
+        code.pushInt(0);
+        code.bind(end);
+        return Type.INT;
+    }
+
+    // only an if of two expressions of one type has a value the evaluator doesn't wrap
+    private Type compileIfExpression(IfExpression ifExpression) {
+        if (!ifExpression.hasAlternative()) {
+            throw new NotCompilableException();
+        }
+        var otherwise = new Label();
+        var end = new Label();
+        compileJumpIfFalse(ifExpression.condition(), otherwise);
+        var consequence = compileExpression(onlyExpression(ifExpression.consequence()));
+        code.jump(ClassFileWriter.GOTO, end);
+        code.bind(otherwise);
+        var alternative = compileExpression(onlyExpression(ifExpression.alternative()));
+        if (consequence != alternative) {
+            throw new NotCompilableException();
+        }
+        code.bind(end);
+        return consequence;
+    }
+
+    private Expression onlyExpression(BlockStatement block) {
+        if (block.statements().size() != 1 || !(block.statements().get(0) instanceof ExpressionStatement exprStmt)) {
+            throw new NotCompilableException();
+        }
+        return exprStmt.expression();
+    }
+
+    private void compileJumpIfFalse(Expression condition, Label target) {
+        if (condition instanceof InfixExpression infix && isComparison(infix.resolvedOperator())) {
+            var operator = infix.resolvedOperator();
+            var left = compileExpression(infix.left());
+            var right = compileExpression(infix.right());
+            if (left == Type.LONG && right == Type.LONG) {
+                code.compareLongs();
+                code.jump(switch (operator) {
+                    case LESS_THAN -> ClassFileWriter.IFGE;
+                    case GREATER_THAN -> ClassFileWriter.IFLE;
+                    case EQUAL -> ClassFileWriter.IFNE;
+                    default -> ClassFileWriter.IFEQ;
+                }, target);
+            } else if (left == Type.INT && right == Type.INT
+                  && (operator == Operator.EQUAL || operator == Operator.NOT_EQUAL)) {
+                code.jump(operator == Operator.EQUAL ? ClassFileWriter.IF_ICMPNE : ClassFileWriter.IF_ICMPEQ, target);
+            } else {
+                throw new NotCompilableException();
+            }
+        } else if (compileExpression(condition) == Type.LONG) {
+            // an integer is truthy unless it is 0
+            code.pushLong(0);
+            code.compareLongs();
+            code.jump(ClassFileWriter.IFEQ, target);
+        } else {
+            code.jump(ClassFileWriter.IFEQ, target);
+        }
+    }
+
+    private boolean isSelfCall(CallExpression call) {
+        if (!(call.function() instanceof Identifier identifier) || identifier.coordinate() == null
+              || !identifier.coordinate().equals(Coordinate.global(1))
+              || call.arguments().size() != literal.parameters().size()) {
+            return false;
+        }
+        if (self == null) {
+            self = identifier.value();
+        }
+        return self.equals(identifier.value());
+    }
+
+    private static int local(int slot) {
+        return 2 * slot + 2;
+    }
+
+    private static boolean isComparison(Operator operator) {
+        return operator == Operator.LESS_THAN || operator == Operator.GREATER_THAN || operator == Operator.EQUAL
+              || operator == Operator.NOT_EQUAL;
+    }
+
+    private static int arithmeticOpcode(Operator operator) {
+        if (operator == null) {
+            throw new NotCompilableException();
+        }
+        return switch (operator) {
+            case PLUS -> ClassFileWriter.LADD;
+            case MINUS -> ClassFileWriter.LSUB;
+            case ASTERISK -> ClassFileWriter.LMUL;
+            case SLASH -> ClassFileWriter.LDIV;
+            default -> -1;
+        };
+    }
+
+    record Result(byte[] classFile, String self) {
+    }
+
+    private static final class NotCompilableException extends RuntimeException {
+
+        private NotCompilableException() {
+            super(null, null, false, false);
+        }
+    }
+
+}
@@ -0,0 +1,7 @@
+package io.aegis.lang.chicago;
+
+interface Kernel {
+
+    long invoke(long depth, long[] arguments);
+
+}
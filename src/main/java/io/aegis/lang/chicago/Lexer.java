@@ -2,26 +2,61 @@ package io.aegis.lang.chicago;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.Objects;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 
 public class Lexer {
 
-    private final String input;
-    private int currentPosition;
-    private int nextPosition;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private final StringBuilder literal = new StringBuilder();
+    private final IdentifierTable identifiers = new IdentifierTable();
+    private int bufferLength;
+    private int bufferPosition;
+
     private char current;
+    private char next;
+    private int line = 1;
+    private int column;
+    private int tokenLine;
+    private int tokenColumn;
 
     public Lexer(String input) {
-        requireNonNull(input, "input can't be null");
-        if (input.isBlank()) {
-            throw new IllegalArgumentException("Cannot lex empty input");
-        }
-        this.input = input;
+        this(new StringReader(requireNonNull(input, "input can't be null")), bufferSizeFor(input));
+    }
+
+    public Lexer(Reader reader) {
+        this(reader, BUFFER_SIZE);
+    }
+
+    private Lexer(Reader reader, int bufferSize) {
+        requireNonNull(reader, "reader can't be null");
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+        next = fetch();
         readNextChar();
     }
 
+    private static int bufferSizeFor(String input) {
+        return Math.max(1, Math.min(input.length(), BUFFER_SIZE));
+    }
+
+    public int tokenLine() {
+        return tokenLine;
+    }
+
+    public int tokenColumn() {
+        return tokenColumn;
+    }
+
     public Token nextToken() {
         skipWhitespace();
+        tokenLine = line;
+        tokenColumn = column;
 
         Token token;
         switch (current) {
@@ -94,8 +129,9 @@ public class Lexer {
                 break;
             default:
                 if (isLetter(current)) {
-                    String identifier = readIdentifier();
-                    return new Token(lookupIdentifierType(identifier), identifier);
+                    readIdentifier();
+                    var keyword = lookupKeyword(literal);
+                    return keyword != null ? keyword : identifiers.intern(literal);
                 } else if (isDigit(current)) {
                     return Token.newInteger(readNumber());
                 } else {
@@ -109,13 +145,12 @@ public class Lexer {
 
     private String readString() {
         readNextChar();
-        int start = currentPosition;
-
+        literal.setLength(0);
         while (current != '"' && current != 0) {
+            literal.append(current);
             readNextChar();
         }
-        int end = currentPosition;
-        return input.substring(start, end);
+        return literal.toString();
     }
 
     private void skipWhitespace() {
@@ -124,44 +159,68 @@ public class Lexer {
         }
     }
 
-    private TokenType lookupIdentifierType(String literal) {
-        Objects.requireNonNull(literal, "literal can't be null");
+    private static Token lookupKeyword(CharSequence chars) {
+        return switch (chars.length()) {
+            case 2 -> matches(Token.FUNCTION, chars) ? Token.FUNCTION : matches(Token.IF, chars) ? Token.IF : null;
+            case 3 -> matches(Token.LET, chars) ? Token.LET : null;
+            case 4 -> matches(Token.TRUE, chars) ? Token.TRUE : matches(Token.ELSE, chars) ? Token.ELSE : null;
+            case 5 -> matches(Token.FALSE, chars) ? Token.FALSE : null;
+            case 6 -> matches(Token.RETURN, chars) ? Token.RETURN : null;
+            default -> null;
+        };
+    }
 
-        return TokenType.from(literal).orElse(TokenType.IDENT);
+    private static boolean matches(Token keyword, CharSequence chars) {
+        return keyword.literal().contentEquals(chars);
     }
 
-    private String readIdentifier() {
-        var start = currentPosition;
+    private void readIdentifier() {
+        literal.setLength(0);
         while (isLetter(current)) {
+            literal.append(current);
             readNextChar();
         }
-        return input.substring(start, currentPosition);
     }
 
     private String readNumber() {
-        var start = currentPosition;
+        literal.setLength(0);
         while (isDigit(current)) {
+            literal.append(current);
             readNextChar();
         }
-        return input.substring(start, currentPosition);
+        return literal.toString();
     }
 
     private void readNextChar() {
-        if (nextPosition >= input.length()) {
-            current = 0;
-        } else {
-            current = input.charAt(nextPosition);
+        if (current == '\n') {
+            line++;
+            column = 0;
+        }
+        current = next;
+        if (current != 0) {
+            column++;
+            next = fetch();
         }
-        currentPosition = nextPosition;
-        nextPosition++;
     }
 
     private char peekNextChar() {
-        if (nextPosition >= input.length()) {
-            return 0;
-        } else {
-            return input.charAt(nextPosition);
+        return next;
+    }
+
+    private char fetch() {
+        if (bufferPosition == bufferLength) {
+            try {
+                bufferLength = reader.read(buffer, 0, buffer.length);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            bufferPosition = 0;
+            if (bufferLength <= 0) {
+                bufferLength = 0;
+                return 0;
+            }
         }
+        return buffer[bufferPosition++];
     }
 
     private boolean isLetter(char character) {
@@ -0,0 +1,66 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+// every call is a step; tail calls don't count toward maxDepth
+public record Limits(long maxSteps, Duration timeout, long maxBytes, int maxDepth) {
+
+    public static final int DEFAULT_MAX_DEPTH = 256;
+
+    public static final Limits NONE =
+          new Limits(Long.MAX_VALUE, Duration.ofNanos(Long.MAX_VALUE), Long.MAX_VALUE, Integer.MAX_VALUE);
+
+    static final int CLOCK_INTERVAL = 1024;
+
+    public Limits {
+        requireNonNull(timeout, "timeout can't be null");
+        if (maxSteps <= 0) {
+            throw new IllegalArgumentException("maxSteps must be positive");
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("maxDepth must be positive");
+        }
+    }
+
+    public Limits(long maxSteps, Duration timeout, long maxBytes) {
+        this(maxSteps, timeout, maxBytes, DEFAULT_MAX_DEPTH);
+    }
+
+    public Limits withMaxSteps(long maxSteps) {
+        return new Limits(maxSteps, timeout, maxBytes, boundedDepth());
+    }
+
+    public Limits withTimeout(Duration timeout) {
+        return new Limits(maxSteps, timeout, maxBytes, boundedDepth());
+    }
+
+    public Limits withMaxBytes(long maxBytes) {
+        return new Limits(maxSteps, timeout, maxBytes, boundedDepth());
+    }
+
+    public Limits withMaxDepth(int maxDepth) {
+        return new Limits(maxSteps, timeout, maxBytes, maxDepth);
+    }
+
+    private int boundedDepth() {
+        return maxDepth == NONE.maxDepth ? DEFAULT_MAX_DEPTH : maxDepth;
+    }
+
+    // only the depth can be bounded on another thread
+    boolean boundsOnlyDepth() {
+        return maxSteps == NONE.maxSteps && timeout.equals(NONE.timeout) && maxBytes == NONE.maxBytes;
+    }
+
+    long timeoutNanos() {
+        return timeout.compareTo(NONE.timeout) >= 0 ? Long.MAX_VALUE : timeout.toNanos();
+    }
+
+}
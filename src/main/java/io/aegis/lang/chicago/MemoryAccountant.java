@@ -0,0 +1,102 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+// each value is charged once when created; nothing is credited back
+final class MemoryAccountant {
+
+    static final long VALUE_BYTES = 16;
+    static final long STRING_BYTES = 56;
+    // a rope node, which is charged for the flat string it can be turned into as well
+    static final long ROPE_BYTES = 40;
+    static final long FUNCTION_BYTES = 24;
+    static final long ENVIRONMENT_BYTES = 48;
+    static final long ARRAY_BYTES = 64;
+    static final long DICTIONARY_BYTES = 40;
+    static final long REFERENCE_BYTES = 4;
+    static final long ENTRY_BYTES = 24;
+    // a copied tail of up to 32 references plus one node per trie level
+    static final long PATH_BYTES = 256;
+
+    private final long maxBytes;
+    private long accounted;
+    private Error exhausted;
+
+    MemoryAccountant(Limits limits) {
+        requireNonNull(limits, "limits can't be null");
+
+        this.maxBytes = limits.maxBytes();
+    }
+
+    void restart() {
+        accounted = 0;
+        exhausted = null;
+    }
+
+    long accountedBytes() {
+        return accounted;
+    }
+
+    Error charge(long bytes) {
+        accounted += bytes;
+        if (exhausted == null && accounted > maxBytes) {
+            exhausted = new Error("Memory quota of " + maxBytes + " bytes exceeded");
+        }
+        return exhausted;
+    }
+
+    Error chargeEnvironment(int slots) {
+        return charge(ENVIRONMENT_BYTES + REFERENCE_BYTES * slots);
+    }
+
+    Error chargeNew(Value value) {
+        if (value instanceof IntegerValue integer) {
+            return IntegerValue.of(integer.value()) == integer ? exhausted : charge(VALUE_BYTES);
+        } else if (value instanceof StringValue string) {
+            return charge(STRING_BYTES + string.length() + (string.isFlat() ? 0 : ROPE_BYTES));
+        } else if (value instanceof Array array) {
+            return charge(ARRAY_BYTES + REFERENCE_BYTES * array.size());
+        } else if (value instanceof Dictionary dictionary) {
+            return charge(DICTIONARY_BYTES + ENTRY_BYTES * dictionary.pairs().size());
+        } else if (value instanceof Function function) {
+            return charge(FUNCTION_BYTES + REFERENCE_BYTES * function.captured().length);
+        } else if (value instanceof Closure closure) {
+            return charge(FUNCTION_BYTES + REFERENCE_BYTES * closure.free().length);
+        }
+        return exhausted;
+    }
+
+    // a container of an argument's type is charged as a persistent update
+    Error chargeResult(Value result, Value[] arguments) {
+        for (Value argument : arguments) {
+            var shared = sharedBytes(result, argument);
+            if (shared >= 0) {
+                return charge(shared);
+            }
+        }
+        return chargeNew(result);
+    }
+
+    // missing arguments are null
+    Error chargeResult(Value result, Value first, Value second, Value third) {
+        var shared = sharedBytes(result, first);
+        if (shared < 0 && second != null) {
+            shared = sharedBytes(result, second);
+        }
+        if (shared < 0 && third != null) {
+            shared = sharedBytes(result, third);
+        }
+        return shared >= 0 ? charge(shared) : chargeNew(result);
+    }
+
+    // the bytes a result adds to an argument it shares structure with, or -1 when it shares nothing with it
+    private static long sharedBytes(Value result, Value argument) {
+        if (argument == result) {
+            return 0;
+        } else if ((result instanceof Array || result instanceof Dictionary) && argument.getClass() == result.getClass()) {
+            return PATH_BYTES;
+        }
+        return -1;
+    }
+
+}
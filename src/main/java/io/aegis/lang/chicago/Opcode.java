@@ -0,0 +1,131 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+
+public final class Opcode {
+
+    public static final byte CONSTANT = 0;
+    public static final byte POP = 1;
+    public static final byte ADD = 2;
+    public static final byte SUB = 3;
+    public static final byte MUL = 4;
+    public static final byte DIV = 5;
+    public static final byte TRUE = 6;
+    public static final byte FALSE = 7;
+    public static final byte NULL = 8;
+    public static final byte EQUAL = 9;
+    public static final byte NOT_EQUAL = 10;
+    public static final byte GREATER_THAN = 11;
+    public static final byte LESS_THAN = 12;
+    public static final byte MINUS = 13;
+    public static final byte BANG = 14;
+    public static final byte JUMP = 15;
+    public static final byte JUMP_NOT_TRUTHY = 16;
+    public static final byte GET_GLOBAL = 17;
+    public static final byte SET_GLOBAL = 18;
+    public static final byte GET_LOCAL = 19;
+    public static final byte SET_LOCAL = 20;
+    public static final byte GET_BUILTIN = 21;
+    public static final byte GET_FREE = 22;
+    public static final byte CURRENT_CLOSURE = 23;
+    public static final byte ARRAY = 24;
+    public static final byte DICTIONARY = 25;
+    public static final byte INDEX = 26;
+    public static final byte CALL = 27;
+    public static final byte RETURN_VALUE = 28;
+    public static final byte CLOSURE = 29;
+    public static final byte TAIL_CALL = 30;
+
+    private static final String[] NAMES = {
+          "CONSTANT", "POP", "ADD", "SUB", "MUL", "DIV", "TRUE", "FALSE", "NULL", "EQUAL", "NOT_EQUAL",
+          "GREATER_THAN", "LESS_THAN", "MINUS", "BANG", "JUMP", "JUMP_NOT_TRUTHY", "GET_GLOBAL", "SET_GLOBAL",
+          "GET_LOCAL", "SET_LOCAL", "GET_BUILTIN", "GET_FREE", "CURRENT_CLOSURE", "ARRAY", "DICTIONARY",
+          "INDEX", "CALL", "RETURN_VALUE", "CLOSURE", "TAIL_CALL"
+    };
+
+    private static final int[][] OPERAND_WIDTHS = {
+          {2}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {},
+          {}, {}, {}, {}, {2}, {2}, {2}, {2},
+          {2}, {2}, {1}, {1}, {}, {2}, {2},
+          {}, {1}, {}, {2, 1}, {1}
+    };
+
+    private Opcode() {
+        super();
+    }
+
+    public static String name(byte opcode) {
+        return NAMES[opcode];
+    }
+
+    static int[] operandWidths(byte opcode) {
+        return OPERAND_WIDTHS[opcode];
+    }
+
+    static byte[] make(byte opcode, int... operands) {
+        requireNonNull(operands, "operands can't be null");
+
+        var widths = OPERAND_WIDTHS[opcode];
+        if (widths.length != operands.length) {
+            throw new IllegalArgumentException(
+                  "Opcode " + name(opcode) + " expects " + widths.length + " operands, but got " + operands.length);
+        }
+        var out = new ByteArrayOutputStream();
+        out.write(opcode);
+        for (int i = 0; i < widths.length; i++) {
+            var operand = operands[i];
+            if (operand < 0 || operand >= 1 << (8 * widths[i])) {
+                throw new IllegalArgumentException("Operand " + operand + " out of range for " + name(opcode));
+            }
+            if (widths[i] == 2) {
+                out.write(operand >>> 8);
+            }
+            out.write(operand);
+        }
+        return out.toByteArray();
+    }
+
+    static int stackEffect(byte opcode, int... operands) {
+        return switch (opcode) {
+            case CONSTANT, TRUE, FALSE, NULL, GET_GLOBAL, GET_LOCAL, GET_BUILTIN, GET_FREE, CURRENT_CLOSURE -> 1;
+            case MINUS, BANG, JUMP -> 0;
+            case ARRAY -> 1 - operands[0];
+            case DICTIONARY -> 1 - 2 * operands[0];
+            case CALL, TAIL_CALL -> -operands[0];
+            case CLOSURE -> 1 - operands[1];
+            default -> -1;
+        };
+    }
+
+    static int readUnsignedShort(byte[] instructions, int offset) {
+        return ((instructions[offset] & 0xFF) << 8) | (instructions[offset + 1] & 0xFF);
+    }
+
+    static int readUnsignedByte(byte[] instructions, int offset) {
+        return instructions[offset] & 0xFF;
+    }
+
+    public static String disassemble(byte[] instructions) {
+        requireNonNull(instructions, "instructions can't be null");
+
+        var sb = new StringBuilder();
+        var ip = 0;
+        while (ip < instructions.length) {
+            var opcode = instructions[ip];
+            sb.append(String.format("%04d %s", ip, name(opcode)));
+            ip++;
+            for (int width : operandWidths(opcode)) {
+                var operand = width == 2
+                      ? readUnsignedShort(instructions, ip)
+                      : readUnsignedByte(instructions, ip);
+                sb.append(' ').append(operand);
+                ip += width;
+            }
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+}
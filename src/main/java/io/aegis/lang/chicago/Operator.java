@@ -0,0 +1,43 @@
+package io.aegis.lang.chicago;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public enum Operator {
+
+    PLUS("+"),
+    MINUS("-"),
+    ASTERISK("*"),
+    SLASH("/"),
+    LESS_THAN("<"),
+    GREATER_THAN(">"),
+    EQUAL("=="),
+    NOT_EQUAL("!="),
+    BANG("!");
+
+    private static final Map<String, Operator> BY_SYMBOL = new HashMap<>();
+
+    static {
+        for (Operator operator : values()) {
+            BY_SYMBOL.put(operator.symbol, operator);
+        }
+    }
+
+    private final String symbol;
+
+    Operator(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public static Operator fromSymbol(String symbol) {
+        Objects.requireNonNull(symbol, "symbol can't be null");
+
+        return BY_SYMBOL.get(symbol);
+    }
+
+    public String symbol() {
+        return symbol;
+    }
+
+}
@@ -0,0 +1,140 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+final class Operators {
+
+    private Operators() {
+        super();
+    }
+
+    static Value infix(String operator, Value left, Value right) {
+        requireNonNull(operator, "operator can't be null");
+        requireNonNull(left, "left can't be null");
+        requireNonNull(right, "right can't be null");
+
+        var known = Operator.fromSymbol(operator);
+        if (known != null) {
+            return infix(known, left, right);
+        } else if (!left.type().equals(right.type())) {
+            return newError("Type mismatch: %s %s %s", left.type(), operator, right.type());
+        }
+        return newError("Unknown operator: %s %s %s", left.type(), operator, right.type());
+    }
+
+    static Value infix(Operator operator, Value left, Value right) {
+        requireNonNull(operator, "operator can't be null");
+        requireNonNull(left, "left can't be null");
+        requireNonNull(right, "right can't be null");
+
+        if (left instanceof StringValue leftString && right instanceof StringValue rightString) {
+            return stringInfix(operator, leftString, rightString);
+        } else if (left instanceof IntegerValue leftInteger && right instanceof IntegerValue rightInteger) {
+            return integerInfix(operator, leftInteger, rightInteger);
+        } else if (operator == Operator.EQUAL) {
+            return BooleanValue.from(left == right);
+        } else if (operator == Operator.NOT_EQUAL) {
+            return BooleanValue.from(left != right);
+        } else if (!left.type().equals(right.type())) {
+            return newError("Type mismatch: %s %s %s", left.type(), operator.symbol(), right.type());
+        } else {
+            return newError("Unknown operator: %s %s %s", left.type(), operator.symbol(), right.type());
+        }
+    }
+
+    static Value stringInfix(Operator operator, StringValue left, StringValue right) {
+        requireNonNull(operator, "operator can't be null");
+        requireNonNull(left, "left can't be null");
+        requireNonNull(right, "right can't be null");
+
+        if (operator != Operator.PLUS) {
+            return newError("Unknown operator: %s %s %s", left.type(), operator.symbol(), right.type());
+        }
+        return concat(left, right);
+    }
+
+    static Value concat(StringValue left, StringValue right) {
+        if ((long) left.length() + right.length() > StringValue.MAX_LENGTH) {
+            return newError("String too long: %d characters", (long) left.length() + right.length());
+        }
+        return left.concat(right);
+    }
+
+    static Value integerInfix(Operator operator, IntegerValue left, IntegerValue right) {
+        requireNonNull(operator, "operator can't be null");
+        requireNonNull(left, "left can't be null");
+        requireNonNull(right, "right can't be null");
+
+        return switch (operator) {
+            case PLUS -> IntegerValue.of(left.value() + right.value());
+            case MINUS -> IntegerValue.of(left.value() - right.value());
+            case ASTERISK -> IntegerValue.of(left.value() * right.value());
+            case SLASH -> IntegerValue.of(left.value() / right.value());
+            case LESS_THAN -> BooleanValue.from(left.value() < right.value());
+            case GREATER_THAN -> BooleanValue.from(left.value() > right.value());
+            case EQUAL -> BooleanValue.from(left.value() == right.value());
+            case NOT_EQUAL -> BooleanValue.from(left.value() != right.value());
+            default -> newError("Unknown operator: %s %s %s", left.type(), operator.symbol(), right.type());
+        };
+    }
+
+    static Value prefix(String operator, Value right) {
+        requireNonNull(operator, "operator can't be null");
+        requireNonNull(right, "right can't be null");
+
+        var known = Operator.fromSymbol(operator);
+        return known != null ? prefix(known, right) : newError("Unknown operator: %s%s", operator, right.type());
+    }
+
+    static Value prefix(Operator operator, Value right) {
+        requireNonNull(operator, "operator can't be null");
+        requireNonNull(right, "right can't be null");
+
+        return switch (operator) {
+            case BANG -> bang(right);
+            case MINUS -> minus(right);
+            default -> newError("Unknown operator: %s%s", operator.symbol(), right.type());
+        };
+    }
+
+    static Value minus(Value right) {
+        requireNonNull(right, "right can't be null");
+
+        if (!ValueType.INTEGER.equals(right.type())) {
+            return newError("Unknown operator: -%s", right.type());
+        }
+        return IntegerValue.of(-right.as(IntegerValue.class).value());
+    }
+
+    static Value bang(Value right) {
+        requireNonNull(right, "right can't be null");
+
+        if (BooleanValue.TRUE.equals(right)) {
+            return BooleanValue.FALSE;
+        } else if (BooleanValue.FALSE.equals(right)) {
+            return BooleanValue.TRUE;
+        } else if (NullValue.get().equals(right)) {
+            return BooleanValue.TRUE;
+        } else {
+            return BooleanValue.FALSE;
+        }
+    }
+
+    static Value index(Value left, Value index) {
+        requireNonNull(left, "left can't be null");
+        requireNonNull(index, "index can't be null");
+
+        if (left.is(Array.class) && index.is(IntegerValue.class)) {
+            return left.as(Array.class).get(index.as(IntegerValue.class));
+        } else if (left.is(Dictionary.class)) {
+            return left.as(Dictionary.class).get(index);
+        } else {
+            return newError("Index operator is not supported for: %s", left.type());
+        }
+    }
+
+    static Error newError(String format, Object... args) {
+        return new Error(String.format(format, args));
+    }
+
+}
@@ -0,0 +1,170 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+// folding goes through Operators and leaves whatever would fail for the run
+public class Optimizer {
+
+    public static final String ENABLED_PROPERTY = "chicago.optimizer";
+
+    private static final Set<String> BOOLEAN_OPERATORS = Set.of("<", ">", "==", "!=");
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+    }
+
+    public Program optimize(Program program) {
+        requireNonNull(program, "program can't be null");
+
+        return new Program(optimizeStatements(program.statements()));
+    }
+
+    private List<Statement> optimizeStatements(List<Statement> statements) {
+        List<Statement> optimized = new ArrayList<>(statements.size());
+        for (Statement statement : statements) {
+            optimized.add(optimizeStatement(statement));
+        }
+        return optimized;
+    }
+
+    private Statement optimizeStatement(Statement statement) {
+        if (statement instanceof ExpressionStatement exprStmt) {
+            return new ExpressionStatement(exprStmt.token(), optimizeExpression(exprStmt.expression()));
+        } else if (statement instanceof LetStatement letStmt) {
+            return new LetStatement(letStmt.token(), letStmt.name(), optimizeExpression(letStmt.value()));
+        } else if (statement instanceof ReturnStatement returnStmt) {
+            return new ReturnStatement(returnStmt.token(), optimizeExpression(returnStmt.returnValue()));
+        } else if (statement instanceof BlockStatement block) {
+            return optimizeBlock(block);
+        }
+        return statement;
+    }
+
+    private BlockStatement optimizeBlock(BlockStatement block) {
+        return block == null ? null : new BlockStatement(block.token(), optimizeStatements(block.statements()));
+    }
+
+    private Expression optimizeExpression(Expression expression) {
+        if (expression instanceof PrefixExpression prefix) {
+            return optimizePrefix(new PrefixExpression(prefix.token(), prefix.operator(),
+                  optimizeExpression(prefix.right())));
+        } else if (expression instanceof InfixExpression infix) {
+            return optimizeInfix(new InfixExpression(infix.token(), optimizeExpression(infix.left()), infix.operator(),
+                  optimizeExpression(infix.right())));
+        } else if (expression instanceof IfExpression ifExpression) {
+            return optimizeIf(new IfExpression(ifExpression.token(), optimizeExpression(ifExpression.condition()),
+                  optimizeBlock(ifExpression.consequence()), optimizeBlock(ifExpression.alternative())));
+        } else if (expression instanceof FunctionLiteral fn) {
+            return new FunctionLiteral(fn.token(), fn.parameters(), optimizeBlock(fn.body()), fn.locals(), fn.captures(),
+                  fn.cells());
+        } else if (expression instanceof CallExpression call) {
+            return new CallExpression(call.token(), optimizeExpression(call.function()),
+                  optimizeExpressions(call.arguments()));
+        } else if (expression instanceof ArrayLiteral array) {
+            return new ArrayLiteral(array.token(), optimizeExpressions(array.elements()));
+        } else if (expression instanceof IndexExpression index) {
+            return new IndexExpression(index.token(), optimizeExpression(index.left()),
+                  optimizeExpression(index.index()));
+        } else if (expression instanceof DictionaryLiteral dictionary) {
+            Map<Expression, Expression> pairs = new LinkedHashMap<>();
+            for (Entry<Expression, Expression> entry : dictionary.pairs().entrySet()) {
+                pairs.put(optimizeExpression(entry.getKey()), optimizeExpression(entry.getValue()));
+            }
+            return new DictionaryLiteral(dictionary.token(), pairs);
+        }
+        return expression;
+    }
+
+    private List<Expression> optimizeExpressions(List<Expression> expressions) {
+        List<Expression> optimized = new ArrayList<>(expressions.size());
+        for (Expression expression : expressions) {
+            optimized.add(optimizeExpression(expression));
+        }
+        return optimized;
+    }
+
+    private Expression optimizePrefix(PrefixExpression prefix) {
+        var right = literalValue(prefix.right());
+        if (right != null) {
+            return fold(prefix, Operators.prefix(prefix.operator(), right));
+        }
+        // '!!x' is only a no-op when x is already a boolean
+        if ("!".equals(prefix.operator()) && prefix.right() instanceof PrefixExpression inner
+              && "!".equals(inner.operator()) && isBoolean(inner.right())) {
+            return inner.right();
+        }
+        return prefix;
+    }
+
+    private Expression optimizeInfix(InfixExpression infix) {
+        var left = literalValue(infix.left());
+        var right = literalValue(infix.right());
+        if (left == null || right == null) {
+            return infix;
+        }
+        if ("/".equals(infix.operator()) && right instanceof IntegerValue divisor && divisor.value() == 0) {
+            return infix;
+        }
+        return fold(infix, Operators.infix(infix.operator(), left, right));
+    }
+
+    private Expression optimizeIf(IfExpression ifExpression) {
+        var condition = literalValue(ifExpression.condition());
+        if (condition == null) {
+            return ifExpression;
+        }
+        var taken = condition.isTruthy() ? ifExpression.consequence() : ifExpression.alternative();
+        if (taken == null) {
+            var empty = new BlockStatement(ifExpression.consequence().token(), List.of());
+            return new IfExpression(ifExpression.token(), ifExpression.condition(), empty, null);
+        }
+        if (taken.statements().size() == 1 && taken.statements().get(0) instanceof ExpressionStatement only) {
+            return only.expression();
+        }
+        return new IfExpression(ifExpression.token(), literal(BooleanValue.TRUE), taken, null);
+    }
+
+    private static boolean isBoolean(Expression expression) {
+        if (expression instanceof PrefixExpression prefix) {
+            return "!".equals(prefix.operator());
+        } else if (expression instanceof InfixExpression infix) {
+            return BOOLEAN_OPERATORS.contains(infix.operator());
+        }
+        return expression instanceof BooleanLiteral;
+    }
+
+    private static Expression fold(Expression original, Value folded) {
+        var literal = literal(folded);
+        return literal != null ? literal : original;
+    }
+
+    private static Value literalValue(Expression expression) {
+        if (expression instanceof IntegerLiteral integer) {
+            return integer.integer();
+        } else if (expression instanceof BooleanLiteral bool) {
+            return BooleanValue.from(bool.value());
+        } else if (expression instanceof StringLiteral string) {
+            return new StringValue(string.value());
+        }
+        return null;
+    }
+
+    private static Expression literal(Value value) {
+        if (value instanceof IntegerValue integer) {
+            return new IntegerLiteral(Token.newInteger(String.valueOf(integer.value())), integer);
+        } else if (value instanceof BooleanValue bool) {
+            return new BooleanLiteral(bool.value() ? Token.TRUE : Token.FALSE, bool.value());
+        } else if (value instanceof StringValue string) {
+            return new StringLiteral(Token.newString(string.value()), string.value());
+        }
+        return null;
+    }
+
+}
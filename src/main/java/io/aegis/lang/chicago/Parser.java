@@ -2,6 +2,7 @@ package io.aegis.lang.chicago;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
@@ -12,6 +13,7 @@ import java.util.Optional;
 public class Parser {
 
     private final Lexer lexer;
+    private final BuiltinRegistry builtins;
     private final List<String> errors = new ArrayList<>();
     private final Map<TokenType, PrefixParseFunction> prefixParseFunctions;
     private final Map<TokenType, InfixParseFunction> infixParseFunctions;
@@ -19,10 +21,30 @@ public class Parser {
 
     private Token current;
     private Token next;
+    private int currentLine;
+    private int currentColumn;
+    private int nextLine;
+    private int nextColumn;
 
     public Parser(String input) {
-        requireNonNull(input, "input can't be null");
-        this.lexer = new Lexer(input);
+        this(input, BuiltinRegistry.STANDARD);
+    }
+
+    public Parser(String input, BuiltinRegistry builtins) {
+        this(new Lexer(requireNonNull(input, "input can't be null")), builtins);
+    }
+
+    public Parser(Reader reader) {
+        this(reader, BuiltinRegistry.STANDARD);
+    }
+
+    public Parser(Reader reader, BuiltinRegistry builtins) {
+        this(new Lexer(requireNonNull(reader, "reader can't be null")), builtins);
+    }
+
+    private Parser(Lexer lexer, BuiltinRegistry builtins) {
+        this.lexer = lexer;
+        this.builtins = requireNonNull(builtins, "builtins can't be null").freeze();
 
         advanceTwice();
 
@@ -38,7 +60,11 @@ public class Parser {
 
     private void advance() {
         current = next;
+        currentLine = nextLine;
+        currentColumn = nextColumn;
         next = lexer.nextToken();
+        nextLine = lexer.tokenLine();
+        nextColumn = lexer.tokenColumn();
     }
 
     public Program parseProgram() {
@@ -48,7 +74,7 @@ public class Parser {
                 parseStatement().ifPresent(statements::add);
                 advance();
             }
-            return new Program(statements);
+            return new Resolver(builtins).resolve(new Program(statements));
         } catch (UnexpectedTokenException ex) {
             errors.add(ex.getMessage());
         }
@@ -77,7 +103,7 @@ public class Parser {
 
         var prefixParseFunction = prefixParseFunctions.get(current.type());
         if (prefixParseFunction == null) {
-            errors.add("No prefix parsing function found for " + current.type());
+            errors.add("No prefix parsing function found for " + current.type() + atCurrentToken());
             return Optional.empty();
         }
         var left = prefixParseFunction.get();
@@ -182,7 +208,8 @@ public class Parser {
         requireNonNull(type, "type can't be null");
 
         if (nextTokenIsNotOfType(type)) {
-            throw new UnexpectedTokenException("Next token should be of type " + type + " but is instead of type " + next.type());
+            throw new UnexpectedTokenException("Next token should be of type " + type + " but is instead of type "
+                  + next.type() + " at line " + nextLine + ", column " + nextColumn);
         }
     }
 
@@ -194,10 +221,18 @@ public class Parser {
         return precedenceMap.getOrDefault(next.type(), Precedence.LOWEST);
     }
 
+    private String atCurrentToken() {
+        return " at line " + currentLine + ", column " + currentColumn;
+    }
+
     boolean foundErrors() {
         return !errors.isEmpty();
     }
 
+    List<String> errors() {
+        return List.copyOf(errors);
+    }
+
     void printErrors() {
         for (String error : errors) {
             System.out.println("parser error: " + error);
@@ -379,7 +414,7 @@ public class Parser {
             long value = Long.parseLong(currentToken.literal());
             return new IntegerLiteral(currentToken, value);
         } catch (NumberFormatException ex) {
-            errors.add("Could not parse " + currentToken.literal() + " as integer");
+            errors.add("Could not parse " + currentToken.literal() + " as integer" + atCurrentToken());
             return null;
         }
     }
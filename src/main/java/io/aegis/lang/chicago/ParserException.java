@@ -0,0 +1,17 @@
+package io.aegis.lang.chicago;
+
+import java.util.List;
+
+public class ParserException extends RuntimeException {
+
+    private final List<String> errors;
+
+    public ParserException(List<String> errors) {
+        super(String.join(System.lineSeparator(), errors));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<String> errors() {
+        return errors;
+    }
+}
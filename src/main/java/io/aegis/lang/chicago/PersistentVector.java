@@ -0,0 +1,208 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+// 32-way vector trie with a tail buffer and an offset for dropped heads
+final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Node EMPTY_NODE = new Node(new Object[WIDTH]);
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, 0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int offset;
+    private final int count;
+    private final int shift;
+    private final Node root;
+    private final Object[] tail;
+
+    private PersistentVector(int offset, int count, int shift, Node root, Object[] tail) {
+        this.offset = offset;
+        this.count = count;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> PersistentVector<E> copyOf(Collection<? extends E> elements) {
+        requireNonNull(elements, "elements can't be null");
+
+        if (elements instanceof PersistentVector<?> vector) {
+            return (PersistentVector<E>) vector;
+        }
+        var array = elements.toArray();
+        for (Object element : array) {
+            requireNonNull(element, "element can't be null");
+        }
+        return build(array);
+    }
+
+    private static <E> PersistentVector<E> build(Object[] array) {
+        var size = array.length;
+        if (size == 0) {
+            return empty();
+        }
+        var tailOffset = tailOffset(size);
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < tailOffset; i += WIDTH) {
+            nodes.add(new Node(Arrays.copyOfRange(array, i, i + WIDTH)));
+        }
+        var shift = BITS;
+        while (nodes.size() > WIDTH) {
+            List<Node> parents = new ArrayList<>((nodes.size() + MASK) / WIDTH);
+            for (int i = 0; i < nodes.size(); i += WIDTH) {
+                parents.add(branch(nodes.subList(i, Math.min(i + WIDTH, nodes.size()))));
+            }
+            nodes = parents;
+            shift += BITS;
+        }
+        var root = nodes.isEmpty() ? EMPTY_NODE : branch(nodes);
+        return new PersistentVector<>(0, size, shift, root, Arrays.copyOfRange(array, tailOffset, size));
+    }
+
+    private static Node branch(List<Node> children) {
+        var array = new Object[WIDTH];
+        for (int i = 0; i < children.size(); i++) {
+            array[i] = children.get(i);
+        }
+        return new Node(array);
+    }
+
+    @Override
+    public int size() {
+        return count - offset;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size());
+
+        var i = index + offset;
+        return (E) leafFor(i)[i & MASK];
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+
+            private int index = offset;
+            private int leafStart = -1;
+            private Object[] leaf;
+
+            @Override
+            public boolean hasNext() {
+                return index < count;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (index - leafStart >= WIDTH || leafStart < 0) {
+                    leaf = leafFor(index);
+                    leafStart = index & ~MASK;
+                }
+                return (E) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    PersistentVector<E> append(E element) {
+        requireNonNull(element, "element can't be null");
+
+        if (count - tailOffset(count) < WIDTH) {
+            var newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(offset, count + 1, shift, root, newTail);
+        }
+        var tailNode = new Node(tail);
+        Node newRoot;
+        var newShift = shift;
+        if ((count >>> BITS) > (1 << shift)) {
+            newRoot = new Node(new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tailNode);
+        }
+        return new PersistentVector<>(offset, count + 1, newShift, newRoot, new Object[] {element});
+    }
+
+    PersistentVector<E> dropFirst() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Vector is empty");
+        }
+        if (size() == 1) {
+            return empty();
+        }
+        var dropped = offset + 1;
+        if (dropped > WIDTH && dropped > count - dropped) {
+            return build(Arrays.copyOfRange(toArray(), 1, size()));
+        }
+        return new PersistentVector<>(dropped, count, shift, root, tail);
+    }
+
+    private Object[] leafFor(int i) {
+        if (i >= tailOffset(count)) {
+            return tail;
+        }
+        var node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(i >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    private Node pushTail(int level, Node parent, Node tailNode) {
+        var index = ((count - 1) >>> level) & MASK;
+        var result = new Node(parent.array.clone());
+        Node child;
+        if (level == BITS) {
+            child = tailNode;
+        } else {
+            var existing = (Node) parent.array[index];
+            child = existing != null ? pushTail(level - BITS, existing, tailNode) : newPath(level - BITS, tailNode);
+        }
+        result.array[index] = child;
+        return result;
+    }
+
+    private static Node newPath(int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        var result = new Node(new Object[WIDTH]);
+        result.array[0] = newPath(level - BITS, node);
+        return result;
+    }
+
+    private static int tailOffset(int count) {
+        return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+    }
+
+    private record Node(Object[] array) {
+    }
+
+}
@@ -2,12 +2,45 @@ package io.aegis.lang.chicago;
 
 import java.util.Objects;
 
-public record PrefixExpression(Token token, String operator, Expression right) implements Expression {
+public final class PrefixExpression implements Expression {
 
-    public PrefixExpression {
-        Objects.requireNonNull(token, "token can't be null");
-        Objects.requireNonNull(operator, "operator can't be null");
-        Objects.requireNonNull(right, "right can't be null");
+    private final Token token;
+    private final String operator;
+    private final Expression right;
+    private final Operator resolvedOperator;
+
+    public PrefixExpression(Token token, String operator, Expression right) {
+        this.token = Objects.requireNonNull(token, "token can't be null");
+        this.operator = Objects.requireNonNull(operator, "operator can't be null");
+        this.right = Objects.requireNonNull(right, "right can't be null");
+        this.resolvedOperator = Operator.fromSymbol(operator);
+    }
+
+    public Token token() {
+        return token;
+    }
+
+    public String operator() {
+        return operator;
+    }
+
+    public Expression right() {
+        return right;
+    }
+
+    Operator resolvedOperator() {
+        return resolvedOperator;
+    }
+
+    Value apply(Value rightValue) {
+        if (resolvedOperator == Operator.MINUS) {
+            return rightValue instanceof IntegerValue integer
+                  ? IntegerValue.of(-integer.value())
+                  : Operators.minus(rightValue);
+        } else if (resolvedOperator == Operator.BANG) {
+            return Operators.bang(rightValue);
+        }
+        return Operators.prefix(operator, rightValue);
     }
 
     @Override
@@ -15,8 +48,20 @@ public record PrefixExpression(Token token, String operator, Expression right) i
         return token.literal();
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof PrefixExpression other && token.equals(other.token) && operator.equals(other.operator)
+              && right.equals(other.right);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(token, operator, right);
+    }
+
     @Override
     public String toString() {
         return "(" + operator + right.toString() + ")";
     }
+
 }
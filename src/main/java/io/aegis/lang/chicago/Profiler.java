@@ -0,0 +1,182 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// records the calls of one thread; recursion is only timed once
+public final class Profiler {
+
+    private static final String SCRIPT = "<script>";
+
+    private final com.sun.management.ThreadMXBean allocations = allocationCounter();
+    private final Map<Object, Entry> entries = new IdentityHashMap<>();
+    private final Map<FunctionLiteral, String> names = new IdentityHashMap<>();
+    private final StackNode root = new StackNode(SCRIPT);
+    private Frame top;
+
+    public List<FunctionProfile> functions() {
+        return entries.values().stream()
+              .map(entry -> new FunctionProfile(entry.name, entry.calls, entry.inclusiveNanos, entry.selfNanos,
+                    entry.inclusiveBytes, entry.selfBytes))
+              .sorted(Comparator.comparingLong(FunctionProfile::selfNanos).reversed())
+              .toList();
+    }
+
+    public String flatProfile() {
+        var builder = new StringBuilder(String.format("%10s %14s %14s %14s %14s  %s%n",
+              "calls", "inclusive ms", "self ms", "inclusive KB", "self KB", "function"));
+        for (FunctionProfile function : functions()) {
+            builder.append(String.format("%10d %14.3f %14.3f %14d %14d  %s%n",
+                  function.calls(), function.inclusiveNanos() / 1e6, function.selfNanos() / 1e6,
+                  function.inclusiveBytes() / 1024, function.selfBytes() / 1024, function.name()));
+        }
+        return builder.toString();
+    }
+
+    // collapsed stacks with self nanoseconds, for flame graph tools
+    public String collapsedStacks() {
+        List<String> lines = new ArrayList<>();
+        for (StackNode child : root.children.values()) {
+            collapse(child, child.name, lines);
+        }
+        return lines.stream().map(line -> line + System.lineSeparator()).collect(Collectors.joining());
+    }
+
+    private static void collapse(StackNode node, String path, List<String> lines) {
+        if (node.selfNanos > 0 || node.children.isEmpty()) {
+            lines.add(path + " " + node.selfNanos);
+        }
+        for (StackNode child : node.children.values()) {
+            collapse(child, path + ";" + child.name, lines);
+        }
+    }
+
+    void name(FunctionLiteral literal, String name) {
+        names.putIfAbsent(literal, name);
+    }
+
+    void enter(FunctionLiteral literal) {
+        begin(literal);
+    }
+
+    void enter(Builtin builtin) {
+        begin(builtin);
+    }
+
+    void exit() {
+        var frame = top;
+        top = frame.caller;
+        var elapsed = System.nanoTime() - frame.startNanos;
+        var allocated = allocatedBytes() - frame.startBytes;
+        var entry = frame.entry;
+        if (--entry.active == 0) {
+            entry.inclusiveNanos += elapsed;
+            entry.inclusiveBytes += allocated;
+        }
+        entry.selfNanos += elapsed - frame.childNanos;
+        entry.selfBytes += allocated - frame.childBytes;
+        frame.node.selfNanos += elapsed - frame.childNanos;
+        if (top != null) {
+            top.childNanos += elapsed;
+            top.childBytes += allocated;
+        }
+    }
+
+    private void begin(Object callee) {
+        var entry = entries.get(callee);
+        if (entry == null) {
+            entry = new Entry(nameOf(callee));
+            entries.put(callee, entry);
+        }
+        entry.calls++;
+        entry.active++;
+        var node = (top == null ? root : top.node).child(entry.name);
+        top = new Frame(entry, node, top, System.nanoTime(), allocatedBytes());
+    }
+
+    private String nameOf(Object callee) {
+        if (callee instanceof Builtin builtin) {
+            return builtin.name();
+        }
+        var literal = (FunctionLiteral) callee;
+        var name = names.get(literal);
+        if (name != null) {
+            return name;
+        }
+        return literal.parameters().stream().map(Identifier::value).collect(Collectors.joining(", ", "fn(", ")"));
+    }
+
+    private long allocatedBytes() {
+        return allocations == null ? 0 : allocations.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+              && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+
+    public record FunctionProfile(String name, long calls, long inclusiveNanos, long selfNanos, long inclusiveBytes,
+          long selfBytes) {
+    }
+
+    private static final class Entry {
+
+        private final String name;
+        private long calls;
+        private int active;
+        private long inclusiveNanos;
+        private long selfNanos;
+        private long inclusiveBytes;
+        private long selfBytes;
+
+        private Entry(String name) {
+            this.name = requireNonNull(name, "name can't be null");
+        }
+    }
+
+    private static final class StackNode {
+
+        private final String name;
+        private final Map<String, StackNode> children = new LinkedHashMap<>();
+        private long selfNanos;
+
+        private StackNode(String name) {
+            this.name = name;
+        }
+
+        private StackNode child(String name) {
+            return children.computeIfAbsent(name, StackNode::new);
+        }
+    }
+
+    private static final class Frame {
+
+        private final Entry entry;
+        private final StackNode node;
+        private final Frame caller;
+        private final long startNanos;
+        private final long startBytes;
+        private long childNanos;
+        private long childBytes;
+
+        private Frame(Entry entry, StackNode node, Frame caller, long startNanos, long startBytes) {
+            this.entry = entry;
+            this.node = node;
+            this.caller = caller;
+            this.startNanos = startNanos;
+            this.startBytes = startBytes;
+        }
+    }
+
+}
@@ -11,6 +11,7 @@ public record Program(List<Statement> statements) implements Node, Iterable<Stat
 
     public Program {
         Objects.requireNonNull(statements, "statements can't be null");
+        statements = List.copyOf(statements);
     }
 
     @Override
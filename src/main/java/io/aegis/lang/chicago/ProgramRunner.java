@@ -0,0 +1,65 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+
+// each run gets its own child environment and Evaluator
+public final class ProgramRunner {
+
+    private final Program program;
+    private final CompiledProgram compiled;
+    private final Environment globals;
+
+    public ProgramRunner(Program program) {
+        this(program, new Environment());
+    }
+
+    public ProgramRunner(Program program, Environment globals) {
+        requireNonNull(program, "program can't be null");
+        requireNonNull(globals, "globals can't be null");
+
+        this.program = program;
+        this.compiled = null;
+        this.globals = globals.freeze();
+    }
+
+    public ProgramRunner(CompiledProgram compiled) {
+        this(compiled, new Environment());
+    }
+
+    public ProgramRunner(CompiledProgram compiled, Environment globals) {
+        requireNonNull(compiled, "compiled can't be null");
+        requireNonNull(globals, "globals can't be null");
+
+        this.program = null;
+        this.compiled = compiled;
+        this.globals = globals.freeze();
+    }
+
+    public Value run() {
+        return run(Map.of());
+    }
+
+    public Value run(Map<String, ? extends Value> inputs) {
+        return run(inputs, new Evaluator());
+    }
+
+    public Value run(Map<String, ? extends Value> inputs, Profiler profiler) {
+        return run(inputs, new Evaluator(profiler));
+    }
+
+    public Value run(Map<String, ? extends Value> inputs, Limits limits) {
+        return run(inputs, new Evaluator(limits));
+    }
+
+    public Value run(Map<String, ? extends Value> inputs, Evaluator evaluator) {
+        requireNonNull(inputs, "inputs can't be null");
+        requireNonNull(evaluator, "evaluator can't be null");
+
+        var environment = new Environment(globals);
+        inputs.forEach(environment::set);
+        return compiled != null ? evaluator.evaluate(environment, compiled) : evaluator.evaluate(environment, program);
+    }
+
+}
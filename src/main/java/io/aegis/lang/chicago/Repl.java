@@ -4,12 +4,23 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
 
 public final class Repl {
 
     private static final String PROMPT = ">> ";
+    private static final String ENGINE_PROPERTY = "chicago.engine";
 
     public static void start() throws IOException {
+        if ("vm".equalsIgnoreCase(System.getProperty(ENGINE_PROPERTY))) {
+            startVirtualMachine();
+        } else {
+            startEvaluator();
+        }
+    }
+
+    private static void startEvaluator() throws IOException {
         Environment environment = new Environment();
         try (Reader is = new InputStreamReader(System.in);
                 BufferedReader bufferedReader = new BufferedReader(is)) {
@@ -23,6 +34,9 @@ public final class Repl {
                         parser.printErrors();
                         continue;
                     }
+                    if (Optimizer.isEnabled()) {
+                        program = new Optimizer().optimize(program);
+                    }
                     var evaluated = new Evaluator().evaluate(environment, program);
                     System.out.println(evaluated.inspect());
                 }
@@ -30,6 +44,33 @@ public final class Repl {
         }
     }
 
+    private static void startVirtualMachine() throws IOException {
+        SymbolTable symbolTable = new SymbolTable();
+        List<Value> constants = new ArrayList<>();
+        Value[] globals = new Value[VirtualMachine.GLOBALS_SIZE];
+        try (Reader is = new InputStreamReader(System.in);
+                BufferedReader bufferedReader = new BufferedReader(is)) {
+            while (true) {
+                System.out.print(PROMPT);
+                String line = bufferedReader.readLine();
+                if (line != null && !line.isBlank()) {
+                    var parser = new Parser(line);
+                    var program = parser.parseProgram();
+                    if (parser.foundErrors()) {
+                        parser.printErrors();
+                        continue;
+                    }
+                    if (Optimizer.isEnabled()) {
+                        program = new Optimizer().optimize(program);
+                    }
+                    var bytecode = new Compiler(symbolTable, constants).compile(program);
+                    var evaluated = new VirtualMachine(bytecode, globals).run();
+                    System.out.println(evaluated.inspect());
+                }
+            }
+        }
+    }
+
     public static void main(String[] args) throws Exception {
         String user = System.getProperty("USER");
         if (user != null) {
@@ -0,0 +1,227 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+public class Resolver {
+
+    // the functions being resolved, the innermost one last
+    private final List<FunctionScope> scopes = new ArrayList<>();
+    private final BuiltinRegistry builtins;
+
+    public Resolver() {
+        this(BuiltinRegistry.STANDARD);
+    }
+
+    public Resolver(BuiltinRegistry builtins) {
+        requireNonNull(builtins, "builtins can't be null");
+
+        this.builtins = builtins.freeze();
+    }
+
+    public Program resolve(Program program) {
+        requireNonNull(program, "program can't be null");
+
+        return new Program(resolveStatements(program.statements()));
+    }
+
+    private List<Statement> resolveStatements(List<Statement> statements) {
+        List<Statement> resolved = new ArrayList<>(statements.size());
+        for (Statement statement : statements) {
+            resolved.add(resolveStatement(statement));
+        }
+        return resolved;
+    }
+
+    private Statement resolveStatement(Statement statement) {
+        if (statement instanceof ExpressionStatement exprStmt) {
+            return new ExpressionStatement(exprStmt.token(), resolveExpression(exprStmt.expression()));
+        } else if (statement instanceof LetStatement letStmt) {
+            return new LetStatement(letStmt.token(), resolveIdentifier(letStmt.name()), resolveExpression(letStmt.value()));
+        } else if (statement instanceof ReturnStatement returnStmt) {
+            return new ReturnStatement(returnStmt.token(), resolveExpression(returnStmt.returnValue()));
+        } else if (statement instanceof BlockStatement block) {
+            return resolveBlock(block);
+        }
+        return statement;
+    }
+
+    private BlockStatement resolveBlock(BlockStatement block) {
+        return block == null ? null : new BlockStatement(block.token(), resolveStatements(block.statements()));
+    }
+
+    private Expression resolveExpression(Expression expression) {
+        if (expression instanceof Identifier identifier) {
+            return resolveReference(identifier);
+        } else if (expression instanceof PrefixExpression prefix) {
+            return new PrefixExpression(prefix.token(), prefix.operator(), resolveExpression(prefix.right()));
+        } else if (expression instanceof InfixExpression infix) {
+            return new InfixExpression(infix.token(), resolveExpression(infix.left()), infix.operator(),
+                  resolveExpression(infix.right()));
+        } else if (expression instanceof IfExpression ifExpression) {
+            return new IfExpression(ifExpression.token(), resolveExpression(ifExpression.condition()),
+                  resolveBlock(ifExpression.consequence()), resolveBlock(ifExpression.alternative()));
+        } else if (expression instanceof FunctionLiteral fn) {
+            return resolveFunctionLiteral(fn);
+        } else if (expression instanceof CallExpression call) {
+            return new CallExpression(call.token(), resolveExpression(call.function()),
+                  resolveExpressions(call.arguments()));
+        } else if (expression instanceof ArrayLiteral array) {
+            return new ArrayLiteral(array.token(), resolveExpressions(array.elements()));
+        } else if (expression instanceof IndexExpression index) {
+            return new IndexExpression(index.token(), resolveExpression(index.left()), resolveExpression(index.index()));
+        } else if (expression instanceof DictionaryLiteral dictionary) {
+            Map<Expression, Expression> pairs = new LinkedHashMap<>();
+            for (Entry<Expression, Expression> entry : dictionary.pairs().entrySet()) {
+                pairs.put(resolveExpression(entry.getKey()), resolveExpression(entry.getValue()));
+            }
+            return new DictionaryLiteral(dictionary.token(), pairs);
+        }
+        return expression;
+    }
+
+    private List<Expression> resolveExpressions(List<Expression> expressions) {
+        List<Expression> resolved = new ArrayList<>(expressions.size());
+        for (Expression expression : expressions) {
+            resolved.add(resolveExpression(expression));
+        }
+        return resolved;
+    }
+
+    private Expression resolveFunctionLiteral(FunctionLiteral fn) {
+        List<String> locals = new ArrayList<>();
+        for (Identifier parameter : fn.parameters()) {
+            declare(locals, parameter.value());
+        }
+        forEachLet(fn.body().statements(), name -> declare(locals, name));
+
+        var scope = new FunctionScope(locals);
+        scopes.add(scope);
+        try {
+            List<Identifier> parameters = new ArrayList<>(fn.parameters().size());
+            for (Identifier parameter : fn.parameters()) {
+                parameters.add(resolveIdentifier(parameter));
+            }
+            var body = resolveBlock(fn.body());
+            return new FunctionLiteral(fn.token(), parameters, body, locals, scope.captures, List.copyOf(scope.cells));
+        } finally {
+            scopes.remove(scopes.size() - 1);
+        }
+    }
+
+    static void forEachLet(List<Statement> statements, Consumer<String> action) {
+        for (Statement statement : statements) {
+            if (statement instanceof LetStatement letStmt) {
+                action.accept(letStmt.name().value());
+                forEachLetInExpression(letStmt.value(), action);
+            } else if (statement instanceof ExpressionStatement exprStmt) {
+                forEachLetInExpression(exprStmt.expression(), action);
+            } else if (statement instanceof ReturnStatement returnStmt) {
+                forEachLetInExpression(returnStmt.returnValue(), action);
+            } else if (statement instanceof BlockStatement block) {
+                forEachLet(block.statements(), action);
+            }
+        }
+    }
+
+    private static void forEachLetInExpression(Expression expression, Consumer<String> action) {
+        // blocks don't open a new scope, so a let nested in an if expression still binds in the enclosing function
+        if (expression instanceof IfExpression ifExpression) {
+            forEachLetInExpression(ifExpression.condition(), action);
+            forEachLet(ifExpression.consequence().statements(), action);
+            if (ifExpression.hasAlternative()) {
+                forEachLet(ifExpression.alternative().statements(), action);
+            }
+        } else if (expression instanceof PrefixExpression prefix) {
+            forEachLetInExpression(prefix.right(), action);
+        } else if (expression instanceof InfixExpression infix) {
+            forEachLetInExpression(infix.left(), action);
+            forEachLetInExpression(infix.right(), action);
+        } else if (expression instanceof CallExpression call) {
+            forEachLetInExpression(call.function(), action);
+            call.arguments().forEach(argument -> forEachLetInExpression(argument, action));
+        } else if (expression instanceof ArrayLiteral array) {
+            array.elements().forEach(element -> forEachLetInExpression(element, action));
+        } else if (expression instanceof IndexExpression index) {
+            forEachLetInExpression(index.left(), action);
+            forEachLetInExpression(index.index(), action);
+        } else if (expression instanceof DictionaryLiteral dictionary) {
+            dictionary.pairs().forEach((key, value) -> {
+                forEachLetInExpression(key, action);
+                forEachLetInExpression(value, action);
+            });
+        }
+    }
+
+    private void declare(List<String> locals, String name) {
+        if (!locals.contains(name)) {
+            locals.add(name);
+        }
+    }
+
+    private Identifier resolveReference(Identifier identifier) {
+        var resolved = resolveIdentifier(identifier);
+        if (resolved.isResolved() && !resolved.coordinate().isGlobal()) {
+            return resolved;
+        }
+        // globals are only known at run time and shadow builtins, so the builtin is just what the name falls back to
+        var builtin = builtins.get(identifier.value());
+        return builtin == null ? resolved : resolved.withBuiltin(builtin);
+    }
+
+    private Identifier resolveIdentifier(Identifier identifier) {
+        if (scopes.isEmpty()) {
+            return identifier;
+        }
+        var innermost = scopes.size() - 1;
+        for (int i = innermost; i >= 0; i--) {
+            var slot = scopes.get(i).locals.indexOf(identifier.value());
+            if (slot < 0) {
+                continue;
+            }
+            if (i == innermost) {
+                return identifier.resolvedTo(new Coordinate(0, slot));
+            }
+            return identifier.resolvedTo(Coordinate.captured(capture(i, slot)));
+        }
+        // every frame is a child of the program's environment, however deep its function is nested
+        return identifier.resolvedTo(Coordinate.global(1));
+    }
+
+    // returns the index of the cell among the innermost function's captures
+    private int capture(int owner, int slot) {
+        scopes.get(owner).cells.add(slot);
+        var capture = new FunctionLiteral.Capture(true, slot);
+        var index = -1;
+        for (int i = owner + 1; i < scopes.size(); i++) {
+            var captures = scopes.get(i).captures;
+            index = captures.indexOf(capture);
+            if (index < 0) {
+                index = captures.size();
+                captures.add(capture);
+            }
+            capture = new FunctionLiteral.Capture(false, index);
+        }
+        return index;
+    }
+
+    private static final class FunctionScope {
+
+        private final List<String> locals;
+        private final List<FunctionLiteral.Capture> captures = new ArrayList<>();
+        private final SortedSet<Integer> cells = new TreeSet<>();
+
+        private FunctionScope(List<String> locals) {
+            this.locals = locals;
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// a VM script keeps its Program too, as profiling runs on the evaluator
+public final class Script {
+
+    // runs the script on the evaluator or closure compiler, and profiles it on every backend
+    private final ProgramRunner runner;
+    private final Bytecode bytecode;
+    private final Map<String, Integer> globalIndexes;
+    private final Limits limits;
+
+    Script(Program program, Limits limits) {
+        this.runner = new ProgramRunner(program);
+        this.bytecode = null;
+        this.globalIndexes = Map.of();
+        this.limits = limits;
+    }
+
+    Script(CompiledProgram compiled, Limits limits) {
+        this.runner = new ProgramRunner(compiled);
+        this.bytecode = null;
+        this.globalIndexes = Map.of();
+        this.limits = limits;
+    }
+
+    Script(Bytecode bytecode, Program program, Limits limits) {
+        this.runner = new ProgramRunner(program);
+        this.limits = limits;
+        this.bytecode = bytecode;
+        Map<String, Integer> indexes = new HashMap<>();
+        var names = bytecode.globalNames();
+        for (int i = 0; i < names.length; i++) {
+            indexes.putIfAbsent(names[i], i);
+        }
+        this.globalIndexes = Map.copyOf(indexes);
+    }
+
+    public Value run() {
+        return run(new Bindings());
+    }
+
+    public Value run(Bindings bindings) {
+        requireNonNull(bindings, "bindings can't be null");
+
+        if (bytecode == null) {
+            return runner.run(bindings.values(), limits);
+        }
+        var globals = new Value[bytecode.globalCount()];
+        // bindings the script never mentions have no global slot and are skipped
+        bindings.values().forEach((name, value) -> {
+            var index = globalIndexes.get(name);
+            if (index != null) {
+                globals[index] = value;
+            }
+        });
+        return new VirtualMachine(bytecode, globals, limits).run();
+    }
+
+    public Value profile(Bindings bindings, Profiler profiler) {
+        requireNonNull(bindings, "bindings can't be null");
+        requireNonNull(profiler, "profiler can't be null");
+
+        return runner.run(bindings.values(), new Evaluator(limits, profiler));
+    }
+
+    public Object eval(Bindings bindings) {
+        var result = run(bindings);
+        if (result.isError()) {
+            throw new EvaluationException((Error) result);
+        }
+        return HostValues.toJava(result);
+    }
+
+}
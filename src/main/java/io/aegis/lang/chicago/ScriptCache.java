@@ -0,0 +1,189 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// runs forget what they cached, so entries can be run from any thread
+public final class ScriptCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private final int maximumSize;
+    private final boolean optimize;
+    private final BuiltinRegistry builtins;
+    private final AstCache astCache;
+    private final Map<String, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ScriptCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public ScriptCache(int maximumSize) {
+        this(maximumSize, Optimizer.isEnabled());
+    }
+
+    public ScriptCache(BuiltinRegistry builtins) {
+        this(DEFAULT_MAXIMUM_SIZE, Optimizer.isEnabled(), builtins);
+    }
+
+    public ScriptCache(int maximumSize, boolean optimize) {
+        this(maximumSize, optimize, BuiltinRegistry.STANDARD);
+    }
+
+    public ScriptCache(int maximumSize, boolean optimize, BuiltinRegistry builtins) {
+        this(maximumSize, optimize, builtins, null);
+    }
+
+    public ScriptCache(AstCache astCache) {
+        this(DEFAULT_MAXIMUM_SIZE, Optimizer.isEnabled(), BuiltinRegistry.STANDARD,
+              requireNonNull(astCache, "astCache can't be null"));
+    }
+
+    public ScriptCache(int maximumSize, boolean optimize, BuiltinRegistry builtins, AstCache astCache) {
+        requireNonNull(builtins, "builtins can't be null");
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive, but got " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.optimize = optimize;
+        this.builtins = builtins.freeze();
+        this.astCache = astCache;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ScriptCache.this.maximumSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Program program(String source) {
+        return entry(source).program;
+    }
+
+    public Bytecode bytecode(String source) {
+        return bytecode(entry(source));
+    }
+
+    public CompiledProgram compiledProgram(String source) {
+        return compiledProgram(entry(source));
+    }
+
+    Script script(String source, ChicagoEngine.Backend backend, Limits limits) {
+        var entry = entry(source);
+        return switch (backend) {
+            case EVALUATOR -> new Script(entry.program, limits);
+            case VIRTUAL_MACHINE -> new Script(bytecode(entry), entry.program, limits);
+            case CLOSURE_COMPILER -> new Script(compiledProgram(entry), limits);
+        };
+    }
+
+    public synchronized boolean invalidate(String source) {
+        requireNonNull(source, "source can't be null");
+
+        return entries.remove(digest(source)) != null;
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, entries.size());
+    }
+
+    private Entry entry(String source) {
+        requireNonNull(source, "source can't be null");
+
+        var key = digest(source);
+        synchronized (this) {
+            var entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return entry;
+            }
+            misses++;
+        }
+        // parse outside the lock; two threads missing on the same source both parse it and the first one wins
+        var entry = new Entry(parse(source));
+        synchronized (this) {
+            var existing = entries.putIfAbsent(key, entry);
+            return existing != null ? existing : entry;
+        }
+    }
+
+    private Bytecode bytecode(Entry entry) {
+        var bytecode = entry.bytecode;
+        if (bytecode == null) {
+            bytecode = new Compiler(builtins).compile(entry.program);
+            entry.bytecode = bytecode;
+        }
+        return bytecode;
+    }
+
+    private CompiledProgram compiledProgram(Entry entry) {
+        var compiled = entry.compiled;
+        if (compiled == null) {
+            compiled = new ClosureCompiler().compile(entry.program);
+            entry.compiled = compiled;
+        }
+        return compiled;
+    }
+
+    private Program parse(String source) {
+        Program program;
+        if (astCache != null) {
+            program = astCache.program(source, builtins);
+        } else {
+            var parser = new Parser(source, builtins);
+            program = parser.parseProgram();
+            if (parser.foundErrors()) {
+                throw new ParserException(parser.errors());
+            }
+        }
+        return optimize ? new Optimizer().optimize(program) : program;
+    }
+
+    private static String digest(String source) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public record Stats(long hits, long misses, long evictions, int size) {
+
+        public double hitRate() {
+            var requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+    private static final class Entry {
+
+        private final Program program;
+        private volatile Bytecode bytecode;
+        private volatile CompiledProgram compiled;
+
+        private Entry(Program program) {
+            this.program = program;
+        }
+    }
+
+}
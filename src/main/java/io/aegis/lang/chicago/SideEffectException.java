@@ -0,0 +1,9 @@
+package io.aegis.lang.chicago;
+
+final class SideEffectException extends RuntimeException {
+
+    SideEffectException(String builtin) {
+        super("'" + builtin + "' has side effects", null, false, false);
+    }
+
+}
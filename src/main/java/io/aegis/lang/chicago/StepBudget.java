@@ -0,0 +1,40 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+// once exhausted, every later call fails with the same error
+final class StepBudget {
+
+    private final long maxSteps;
+    private final long timeoutNanos;
+    private long start;
+    private long steps;
+    private Error exhausted;
+
+    StepBudget(Limits limits) {
+        requireNonNull(limits, "limits can't be null");
+
+        this.maxSteps = limits.maxSteps();
+        this.timeoutNanos = limits.timeoutNanos();
+        restart();
+    }
+
+    void restart() {
+        start = System.nanoTime();
+        steps = 0;
+        exhausted = null;
+    }
+
+    Error charge() {
+        if (exhausted != null) {
+            return exhausted;
+        }
+        if (++steps > maxSteps) {
+            exhausted = new Error("Step budget of " + maxSteps + " exceeded");
+        } else if ((steps & (Limits.CLOCK_INTERVAL - 1)) == 0 && System.nanoTime() - start > timeoutNanos) {
+            exhausted = new Error("Timed out after " + timeoutNanos / 1_000_000 + " ms");
+        }
+        return exhausted;
+    }
+
+}
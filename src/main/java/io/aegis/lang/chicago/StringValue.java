@@ -1,11 +1,74 @@
 package io.aegis.lang.chicago;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Objects;
 
-public record StringValue(String value) implements Value {
+// a flat string or a rope, which value() flattens once
+public final class StringValue implements Value {
 
-    public StringValue {
+    // below this combined length copying is cheaper than linking, and keeps short strings flat
+    static final int ROPE_THRESHOLD = 64;
+    // the longest array the JVM reliably allocates, and so the longest string a rope can be flattened to
+    static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final int length;
+    private Object content;
+
+    public StringValue(String value) {
         Objects.requireNonNull(value, "value can't be null");
+        this.length = value.length();
+        this.content = value;
+    }
+
+    private StringValue(StringValue left, StringValue right) {
+        this.length = Math.addExact(left.length, right.length);
+        this.content = new Concat(left, right);
+    }
+
+    public String value() {
+        var current = content;
+        return current instanceof String flat ? flat : flatten();
+    }
+
+    public int length() {
+        return length;
+    }
+
+    boolean isFlat() {
+        return content instanceof String;
+    }
+
+    StringValue concat(StringValue other) {
+        Objects.requireNonNull(other, "other can't be null");
+
+        if (other.length == 0) {
+            return this;
+        } else if (length == 0) {
+            return other;
+        } else if (length + other.length < ROPE_THRESHOLD && isFlat() && other.isFlat()) {
+            return new StringValue(value() + other.value());
+        }
+        return new StringValue(this, other);
+    }
+
+    private String flatten() {
+        var builder = new StringBuilder(length);
+        Deque<StringValue> pending = new ArrayDeque<>();
+        pending.push(this);
+        while (!pending.isEmpty()) {
+            var current = pending.pop().content;
+            if (current instanceof String flat) {
+                builder.append(flat);
+            } else {
+                var concat = (Concat) current;
+                pending.push(concat.right());
+                pending.push(concat.left());
+            }
+        }
+        var flat = builder.toString();
+        content = flat;
+        return flat;
     }
 
     @Override
@@ -15,12 +78,30 @@ public record StringValue(String value) implements Value {
 
     @Override
     public String inspect() {
-        return value;
+        return value();
     }
 
     @Override
     public boolean isTruthy() {
-        return !value.isBlank();
+        return !value().isBlank();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof StringValue other && length == other.length && value().equals(other.value());
+    }
+
+    @Override
+    public int hashCode() {
+        return value().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "StringValue[value=" + value() + "]";
+    }
+
+    private record Concat(StringValue left, StringValue right) {
     }
 
 }
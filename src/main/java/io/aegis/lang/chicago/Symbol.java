@@ -0,0 +1,20 @@
+package io.aegis.lang.chicago;
+
+import java.util.Objects;
+
+public record Symbol(String name, Scope scope, int index) {
+
+    public enum Scope {
+        GLOBAL,
+        LOCAL,
+        BUILTIN,
+        FREE,
+        FUNCTION
+    }
+
+    public Symbol {
+        Objects.requireNonNull(name, "name can't be null");
+        Objects.requireNonNull(scope, "scope can't be null");
+    }
+
+}
@@ -0,0 +1,103 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SymbolTable {
+
+    private final SymbolTable outer;
+    private final Map<String, Symbol> store = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<Symbol> freeSymbols = new ArrayList<>();
+
+    public SymbolTable() {
+        this(null);
+    }
+
+    SymbolTable(SymbolTable outer) {
+        this.outer = outer;
+    }
+
+    SymbolTable outer() {
+        return outer;
+    }
+
+    boolean isGlobal() {
+        return outer == null;
+    }
+
+    Symbol define(String name) {
+        requireNonNull(name, "name can't be null");
+
+        var existing = store.get(name);
+        var scope = isGlobal() ? Symbol.Scope.GLOBAL : Symbol.Scope.LOCAL;
+        if (existing != null && existing.scope() == scope) {
+            return existing;
+        }
+        var symbol = new Symbol(name, scope, names.size());
+        names.add(name);
+        store.put(name, symbol);
+        return symbol;
+    }
+
+    Symbol defineParameter(String name) {
+        requireNonNull(name, "name can't be null");
+
+        var symbol = new Symbol(name, Symbol.Scope.LOCAL, names.size());
+        names.add(name);
+        store.put(name, symbol);
+        return symbol;
+    }
+
+    Symbol defineFunctionName(String name) {
+        requireNonNull(name, "name can't be null");
+
+        var symbol = new Symbol(name, Symbol.Scope.FUNCTION, 0);
+        store.put(name, symbol);
+        return symbol;
+    }
+
+    Symbol resolve(String name) {
+        requireNonNull(name, "name can't be null");
+
+        var symbol = store.get(name);
+        if (symbol != null || outer == null) {
+            return symbol;
+        }
+        var outerSymbol = outer.resolve(name);
+        if (outerSymbol == null || outerSymbol.scope() == Symbol.Scope.GLOBAL) {
+            return outerSymbol;
+        }
+        return defineFree(outerSymbol);
+    }
+
+    Symbol declareGlobal(String name) {
+        requireNonNull(name, "name can't be null");
+
+        return isGlobal() ? define(name) : outer.declareGlobal(name);
+    }
+
+    private Symbol defineFree(Symbol original) {
+        freeSymbols.add(original);
+        var symbol = new Symbol(original.name(), Symbol.Scope.FREE, freeSymbols.size() - 1);
+        store.put(original.name(), symbol);
+        return symbol;
+    }
+
+    List<Symbol> freeSymbols() {
+        return freeSymbols;
+    }
+
+    int definitionCount() {
+        return names.size();
+    }
+
+    String[] names() {
+        return names.toArray(new String[0]);
+    }
+
+}
@@ -0,0 +1,21 @@
+package io.aegis.lang.chicago;
+
+import java.util.List;
+
+record TailCall(Function function, CallSite.Target target, List<Value> arguments) implements Value {
+
+    @Override
+    public String type() {
+        return ValueType.TAIL_CALL;
+    }
+
+    @Override
+    public String inspect() {
+        return "tail call";
+    }
+
+    @Override
+    public boolean isTruthy() {
+        return false;
+    }
+}
@@ -0,0 +1,16 @@
+package io.aegis.lang.chicago;
+
+@FunctionalInterface
+public interface TernaryBuiltin extends BuiltinFunction {
+
+    Value apply(Value first, Value second, Value third);
+
+    @Override
+    default Value apply(Value... args) {
+        if (args.length != 3) {
+            return new Error("Wrong number of arguments. Expected 3, but got " + args.length);
+        }
+        return apply(args[0], args[1], args[2]);
+    }
+
+}
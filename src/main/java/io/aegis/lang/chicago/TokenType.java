@@ -1,5 +1,7 @@
 package io.aegis.lang.chicago;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -37,6 +39,14 @@ public enum TokenType {
     EQUAL("=="),
     STRING("STRING");
 
+    private static final Map<String, TokenType> BY_KEYWORD = new HashMap<>();
+
+    static {
+        for (TokenType type : values()) {
+            BY_KEYWORD.putIfAbsent(type.keyword, type);
+        }
+    }
+
     private final String keyword;
 
     TokenType(String keyword) {
@@ -46,12 +56,7 @@ public enum TokenType {
     public static Optional<TokenType> from(String keyword) {
         Objects.requireNonNull(keyword, "keyword can't be null");
 
-        for (TokenType type : TokenType.values()) {
-            if (keyword.equals(type.keyword)) {
-                return Optional.of(type);
-            }
-        }
-        return Optional.empty();
+        return Optional.ofNullable(BY_KEYWORD.get(keyword));
     }
 
     @Override
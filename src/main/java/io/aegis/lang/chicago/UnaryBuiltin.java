@@ -0,0 +1,16 @@
+package io.aegis.lang.chicago;
+
+@FunctionalInterface
+public interface UnaryBuiltin extends BuiltinFunction {
+
+    Value apply(Value argument);
+
+    @Override
+    default Value apply(Value... args) {
+        if (args.length != 1) {
+            return new Error("Wrong number of arguments. Expected 1, but got " + args.length);
+        }
+        return apply(args[0]);
+    }
+
+}
@@ -12,6 +12,8 @@ public final class ValueType {
     static final String BUILTIN = "BUILTIN";
     static final String ARRAY = "ARRAY";
     static final String DICTIONARY = "DICTIONARY";
+    static final String COMPILED_FUNCTION = "COMPILED_FUNCTION";
+    static final String TAIL_CALL = "TAIL_CALL";
 
     private ValueType() {
         super();
@@ -0,0 +1,459 @@
+package io.aegis.lang.chicago;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class VirtualMachine {
+
+    public static final int GLOBALS_SIZE = 65536;
+
+    // the stack and the frames start small and grow with the calls up to these sizes
+    private static final int STACK_SIZE = 65536;
+    private static final int MAX_FRAMES = 8192;
+    private static final int INITIAL_STACK = 64;
+    private static final int INITIAL_FRAMES = 16;
+
+    private final Builtin[] builtins;
+    private final Value[] constants;
+    private final Value[] globals;
+    private final String[] globalNames;
+    private Value[] stack;
+    private Frame[] frames = new Frame[INITIAL_FRAMES];
+    private final CompiledFunction main;
+    private final StepBudget budget;
+    private final MemoryAccountant memory;
+    private final int maxDepth;
+    // without a quota nothing reads the accounted bytes, so the VM doesn't count them
+    private final boolean accounting;
+    private final boolean pure;
+    private final boolean forkable;
+    private final Caller caller = new VirtualMachineCaller();
+
+    private int sp;
+    private int frameIndex;
+
+    public VirtualMachine(Bytecode bytecode) {
+        this(bytecode, new Value[bytecode.globalCount()]);
+    }
+
+    public VirtualMachine(Bytecode bytecode, Value[] globals) {
+        this(bytecode, globals, Limits.NONE);
+    }
+
+    public VirtualMachine(Bytecode bytecode, Value[] globals, Limits limits) {
+        requireNonNull(bytecode, "bytecode can't be null");
+        requireNonNull(globals, "globals can't be null");
+        if (globals.length < bytecode.globalCount()) {
+            throw new IllegalArgumentException(
+                  "Expected room for " + bytecode.globalCount() + " globals, but got " + globals.length);
+        }
+
+        this.main = bytecode.main();
+        this.constants = bytecode.constants();
+        this.globals = globals;
+        this.globalNames = bytecode.globalNames();
+        this.builtins = bytecode.builtins();
+        this.stack = new Value[main.maxStack()];
+        this.budget = new StepBudget(limits);
+        this.memory = new MemoryAccountant(limits);
+        this.accounting = limits.maxBytes() != Long.MAX_VALUE;
+        this.maxDepth = limits.maxDepth();
+        this.pure = false;
+        this.forkable = limits.boundsOnlyDepth();
+    }
+
+    // a VM for another thread that shares the program and the globals of this one and refuses side effects
+    private VirtualMachine(VirtualMachine parent) {
+        this.main = parent.main;
+        this.constants = parent.constants;
+        this.globals = parent.globals;
+        this.globalNames = parent.globalNames;
+        this.builtins = parent.builtins;
+        this.stack = new Value[INITIAL_STACK];
+        this.budget = new StepBudget(Limits.NONE);
+        this.memory = new MemoryAccountant(Limits.NONE);
+        this.accounting = false;
+        this.maxDepth = parent.maxDepth;
+        this.pure = true;
+        this.forkable = true;
+    }
+
+    public Value run() {
+        sp = 0;
+        frameIndex = 0;
+        frames[0] = new Frame(new Closure(main, new Value[0]), 0);
+        budget.restart();
+        memory.restart();
+        try {
+            return execute(0);
+        } catch (ExecutionError ex) {
+            return ex.error;
+        }
+    }
+
+    // runs until the frame at stopFrame returns
+    private Value execute(int stopFrame) {
+        var frame = frames[frameIndex];
+        var instructions = frame.instructions;
+        var ip = 0;
+
+        while (true) {
+            var opcode = instructions[ip++];
+            switch (opcode) {
+                case Opcode.CONSTANT -> {
+                    push(constants[Opcode.readUnsignedShort(instructions, ip)]);
+                    ip += 2;
+                }
+                case Opcode.POP -> sp--;
+                case Opcode.ADD -> binary(opcode, Operator.PLUS);
+                case Opcode.SUB -> binary(opcode, Operator.MINUS);
+                case Opcode.MUL -> binary(opcode, Operator.ASTERISK);
+                case Opcode.DIV -> binary(opcode, Operator.SLASH);
+                case Opcode.EQUAL -> binary(opcode, Operator.EQUAL);
+                case Opcode.NOT_EQUAL -> binary(opcode, Operator.NOT_EQUAL);
+                case Opcode.GREATER_THAN -> binary(opcode, Operator.GREATER_THAN);
+                case Opcode.LESS_THAN -> binary(opcode, Operator.LESS_THAN);
+                case Opcode.TRUE -> push(BooleanValue.TRUE);
+                case Opcode.FALSE -> push(BooleanValue.FALSE);
+                case Opcode.NULL -> push(NullValue.get());
+                case Opcode.MINUS -> push(account(check(Operators.minus(pop()))));
+                case Opcode.BANG -> push(Operators.bang(pop()));
+                case Opcode.JUMP -> ip = Opcode.readUnsignedShort(instructions, ip);
+                case Opcode.JUMP_NOT_TRUTHY -> {
+                    if (pop().isTruthy()) {
+                        ip += 2;
+                    } else {
+                        ip = Opcode.readUnsignedShort(instructions, ip);
+                    }
+                }
+                case Opcode.GET_GLOBAL -> {
+                    var index = Opcode.readUnsignedShort(instructions, ip);
+                    ip += 2;
+                    var value = globals[index];
+                    push(value != null && value != NullValue.INSTANCE ? value : unbound(globalNames[index]));
+                }
+                case Opcode.SET_GLOBAL -> {
+                    globals[Opcode.readUnsignedShort(instructions, ip)] = pop();
+                    ip += 2;
+                }
+                case Opcode.GET_LOCAL -> {
+                    var index = Opcode.readUnsignedShort(instructions, ip);
+                    ip += 2;
+                    var value = stack[frame.basePointer + index];
+                    push(value != null && value != NullValue.INSTANCE
+                          ? value
+                          : unbound(frame.closure.function().localNames()[index]));
+                }
+                case Opcode.SET_LOCAL -> {
+                    stack[frame.basePointer + Opcode.readUnsignedShort(instructions, ip)] = pop();
+                    ip += 2;
+                }
+                case Opcode.GET_BUILTIN -> push(builtins[Opcode.readUnsignedByte(instructions, ip++)]);
+                case Opcode.GET_FREE -> push(frame.closure.free()[Opcode.readUnsignedByte(instructions, ip++)]);
+                case Opcode.CURRENT_CLOSURE -> push(frame.closure);
+                case Opcode.ARRAY -> {
+                    var count = Opcode.readUnsignedShort(instructions, ip);
+                    ip += 2;
+                    List<Value> elements = new ArrayList<>(count);
+                    elements.addAll(Arrays.asList(stack).subList(sp - count, sp));
+                    sp -= count;
+                    push(account(new Array(elements)));
+                }
+                case Opcode.DICTIONARY -> {
+                    var count = Opcode.readUnsignedShort(instructions, ip);
+                    ip += 2;
+                    push(account(buildDictionary(count)));
+                }
+                case Opcode.INDEX -> {
+                    var index = pop();
+                    var left = pop();
+                    push(check(Operators.index(left, index)));
+                }
+                case Opcode.CALL -> {
+                    var argumentCount = Opcode.readUnsignedByte(instructions, ip++);
+                    charge();
+                    var callee = stack[sp - 1 - argumentCount];
+                    if (callee instanceof Closure closure) {
+                        frame.ip = ip;
+                        frame = pushFrame(closure, argumentCount);
+                        instructions = frame.instructions;
+                        ip = 0;
+                    } else if (callee instanceof Builtin builtin) {
+                        var result = applyBuiltin(builtin, argumentCount);
+                        sp -= argumentCount + 1;
+                        push(check(result));
+                    } else {
+                        throw new ExecutionError(Operators.newError("Not a function: %s", callee.type()));
+                    }
+                }
+                case Opcode.TAIL_CALL -> {
+                    var argumentCount = Opcode.readUnsignedByte(instructions, ip++);
+                    charge();
+                    var callee = stack[sp - 1 - argumentCount];
+                    if (callee instanceof Closure closure) {
+                        replaceFrame(frame, closure, argumentCount);
+                        instructions = frame.instructions;
+                        ip = 0;
+                    } else if (callee instanceof Builtin builtin) {
+                        var result = applyBuiltin(builtin, argumentCount);
+                        sp -= argumentCount + 1;
+                        push(check(result));
+                    } else {
+                        throw new ExecutionError(Operators.newError("Not a function: %s", callee.type()));
+                    }
+                }
+                case Opcode.RETURN_VALUE -> {
+                    var returnValue = pop();
+                    if (frameIndex == stopFrame) {
+                        if (stopFrame > 0) {
+                            sp = frame.basePointer - 1;
+                            frames[frameIndex--] = null;
+                        }
+                        return returnValue;
+                    }
+                    sp = frame.basePointer - 1;
+                    frames[frameIndex--] = null;
+                    frame = frames[frameIndex];
+                    instructions = frame.instructions;
+                    ip = frame.ip;
+                    push(returnValue);
+                }
+                case Opcode.CLOSURE -> {
+                    var function = (CompiledFunction) constants[Opcode.readUnsignedShort(instructions, ip)];
+                    var freeCount = Opcode.readUnsignedByte(instructions, ip + 2);
+                    ip += 3;
+                    var free = Arrays.copyOfRange(stack, sp - freeCount, sp);
+                    sp -= freeCount;
+                    push(account(new Closure(function, free)));
+                }
+                default -> throw new IllegalStateException("Unknown opcode " + opcode);
+            }
+        }
+    }
+
+    private Frame pushFrame(Closure closure, int argumentCount) {
+        var function = closure.function();
+        checkArity(function, argumentCount);
+        if (frameIndex == maxDepth) {
+            throw new ExecutionError(Operators.newError("Call depth of %d exceeded", maxDepth));
+        }
+        if (frameIndex == MAX_FRAMES - 1) {
+            throw new ExecutionError(new Error("Stack overflow"));
+        }
+        if (frameIndex + 1 == frames.length) {
+            frames = Arrays.copyOf(frames, Math.min(2 * frames.length, MAX_FRAMES));
+        }
+        var basePointer = sp - argumentCount;
+        var localsEnd = basePointer + function.localCount();
+        ensureStack(localsEnd + function.maxStack());
+        Arrays.fill(stack, sp, localsEnd, null);
+        sp = localsEnd;
+        var frame = new Frame(closure, basePointer);
+        frames[++frameIndex] = frame;
+        return frame;
+    }
+
+    private void replaceFrame(Frame frame, Closure closure, int argumentCount) {
+        var function = closure.function();
+        checkArity(function, argumentCount);
+        var basePointer = frame.basePointer;
+        ensureStack(Math.max(sp, basePointer + function.localCount() + function.maxStack()));
+        // move the callee and its arguments down over the current frame, then reuse the frame for the callee
+        System.arraycopy(stack, sp - argumentCount - 1, stack, basePointer - 1, argumentCount + 1);
+        var localsEnd = basePointer + function.localCount();
+        Arrays.fill(stack, basePointer + argumentCount, Math.max(sp, localsEnd), null);
+        sp = localsEnd;
+        frame.enter(closure);
+    }
+
+    private void ensureStack(int size) {
+        if (size > STACK_SIZE) {
+            throw new ExecutionError(new Error("Stack overflow"));
+        } else if (size > stack.length) {
+            stack = Arrays.copyOf(stack, Math.min(Math.max(size, 2 * stack.length), STACK_SIZE));
+        }
+    }
+
+    private Value applyBuiltin(Builtin builtin, Value[] arguments) {
+        if (pure && builtin.sideEffects()) {
+            throw new SideEffectException(builtin.name());
+        }
+        var result = builtin.apply(caller, arguments);
+        if (accounting && !result.isError()) {
+            charge(memory.chargeResult(result, arguments));
+        }
+        return result;
+    }
+
+    // a builtin called with the arguments on top of the stack, which fixed-arity builtins get without a copy
+    private Value applyBuiltin(Builtin builtin, int argumentCount) {
+        if (!builtin.hasFixedArity(argumentCount)) {
+            return applyBuiltin(builtin, Arrays.copyOfRange(stack, sp - argumentCount, sp));
+        }
+        if (pure && builtin.sideEffects()) {
+            throw new SideEffectException(builtin.name());
+        }
+        var base = sp - argumentCount;
+        var first = stack[base];
+        var second = argumentCount > 1 ? stack[base + 1] : null;
+        var third = argumentCount > 2 ? stack[base + 2] : null;
+        var result = switch (argumentCount) {
+            case 1 -> builtin.apply(caller, first);
+            case 2 -> builtin.apply(caller, first, second);
+            default -> builtin.apply(caller, first, second, third);
+        };
+        if (accounting && !result.isError()) {
+            charge(memory.chargeResult(result, first, second, third));
+        }
+        return result;
+    }
+
+    private void charge() {
+        charge(budget.charge());
+    }
+
+    private static void charge(Error exhausted) {
+        if (exhausted != null) {
+            throw new ExecutionError(exhausted);
+        }
+    }
+
+    private Value account(Value value) {
+        if (accounting) {
+            charge(memory.chargeNew(value));
+        }
+        return value;
+    }
+
+    private static void checkArity(CompiledFunction function, int argumentCount) {
+        if (argumentCount != function.parameterCount()) {
+            throw new ExecutionError(Operators.newError(
+                  "Wrong number of arguments. Expected %d, but got %d", function.parameterCount(), argumentCount));
+        }
+    }
+
+    private Value buildDictionary(int count) {
+        if (count == 0) {
+            return Dictionary.EMPTY;
+        }
+        PersistentHashMap<Value, Value> pairs = PersistentHashMap.empty();
+        var start = sp - 2 * count;
+        for (int i = start; i < sp; i += 2) {
+            pairs = pairs.plus(stack[i], stack[i + 1]);
+        }
+        sp = start;
+        return new Dictionary(pairs);
+    }
+
+    private void binary(byte opcode, Operator operator) {
+        var right = pop();
+        var left = pop();
+        if (left instanceof IntegerValue l && right instanceof IntegerValue r) {
+            push(account(switch (opcode) {
+                case Opcode.ADD -> IntegerValue.of(l.value() + r.value());
+                case Opcode.SUB -> IntegerValue.of(l.value() - r.value());
+                case Opcode.MUL -> IntegerValue.of(l.value() * r.value());
+                case Opcode.DIV -> IntegerValue.of(l.value() / r.value());
+                case Opcode.EQUAL -> BooleanValue.from(l.value() == r.value());
+                case Opcode.NOT_EQUAL -> BooleanValue.from(l.value() != r.value());
+                case Opcode.GREATER_THAN -> BooleanValue.from(l.value() > r.value());
+                case Opcode.LESS_THAN -> BooleanValue.from(l.value() < r.value());
+                default -> throw new IllegalStateException("Unknown operator " + operator);
+            }));
+        } else {
+            push(account(check(Operators.infix(operator, left, right))));
+        }
+    }
+
+    private void push(Value value) {
+        stack[sp++] = value;
+    }
+
+    private Value pop() {
+        return stack[--sp];
+    }
+
+    private static Value check(Value value) {
+        if (value.isError()) {
+            throw new ExecutionError((Error) value);
+        }
+        return value;
+    }
+
+    // like the evaluator, a name bound to null falls back to the builtin
+    private Value unbound(String name) {
+        for (Builtin builtin : builtins) {
+            if (builtin.name().equals(name)) {
+                return builtin;
+            }
+        }
+        throw new ExecutionError(new Error("Identifier not found: " + name));
+    }
+
+    private static final class Frame {
+
+        private final int basePointer;
+        private Closure closure;
+        private byte[] instructions;
+        private int ip;
+
+        private Frame(Closure closure, int basePointer) {
+            this.basePointer = basePointer;
+            enter(closure);
+        }
+
+        private void enter(Closure closure) {
+            this.closure = closure;
+            this.instructions = closure.function().instructions();
+            this.ip = 0;
+        }
+    }
+
+    private final class VirtualMachineCaller implements Caller {
+
+        @Override
+        public Value call(Value function, Value... arguments) {
+            var savedSp = sp;
+            var savedFrameIndex = frameIndex;
+            try {
+                charge();
+                if (function instanceof Closure closure) {
+                    ensureStack(sp + 1 + arguments.length);
+                    push(closure);
+                    for (Value argument : arguments) {
+                        push(argument);
+                    }
+                    pushFrame(closure, arguments.length);
+                    return execute(frameIndex);
+                } else if (function instanceof Builtin builtin) {
+                    return applyBuiltin(builtin, arguments);
+                }
+                return Operators.newError("Not a function: %s", function.type());
+            } catch (ExecutionError ex) {
+                Arrays.fill(frames, savedFrameIndex + 1, frameIndex + 1, null);
+                frameIndex = savedFrameIndex;
+                sp = savedSp;
+                return ex.error;
+            }
+        }
+
+        @Override
+        public Caller forkPure() {
+            return forkable ? new VirtualMachine(VirtualMachine.this).caller : null;
+        }
+    }
+
+    private static final class ExecutionError extends RuntimeException {
+
+        private final Error error;
+
+        private ExecutionError(Error error) {
+            super(error.message(), null, false, false);
+            this.error = error;
+        }
+    }
+
+}
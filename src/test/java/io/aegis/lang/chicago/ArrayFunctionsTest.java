@@ -0,0 +1,133 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class ArrayFunctionsTest {
+
+    private static final String RECORDS = """
+          let records = fn(arr, n) { if (n == 0) { arr } else { records(push(arr, n), n - 1) } };
+          let items = records([], 5000);
+          """;
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        return Arrays.stream(ChicagoEngine.Backend.values()).map(backend -> new Object[]{backend}).toList();
+    }
+
+    private final ChicagoEngine.Backend backend;
+    private final ChicagoEngine engine;
+    private String threshold;
+
+    public ArrayFunctionsTest(ChicagoEngine.Backend backend) {
+        this.backend = backend;
+        this.engine = new ChicagoEngine(backend);
+    }
+
+    @Before
+    public void lowerTheParallelThreshold() {
+        threshold = System.setProperty(ArrayFunctions.PARALLEL_THRESHOLD_PROPERTY, "100");
+    }
+
+    @After
+    public void restoreTheParallelThreshold() {
+        if (threshold == null) {
+            System.clearProperty(ArrayFunctions.PARALLEL_THRESHOLD_PROPERTY);
+        } else {
+            System.setProperty(ArrayFunctions.PARALLEL_THRESHOLD_PROPERTY, threshold);
+        }
+    }
+
+    @Test
+    public void shouldMapAndFilterLargeArraysInParallel() {
+        // Set
+        var script = engine.compile(RECORDS + """
+              let scale = fn(x) { x * factor };
+              let scaled = map(items, scale);
+              let even = filter(scaled, fn(x) { x / 4 * 4 == x });
+              [reduce(scaled, 0, fn(acc, x) { acc + x }), len(even), first(even), last(even)];
+              """);
+
+        // Act
+        var result = script.eval(new Bindings().put("factor", 2));
+
+        // Assert
+        assertThat(result, is(equalTo(List.of(25_005_000L, 2500L, 10_000L, 4L))));
+    }
+
+    @Test
+    public void shouldReportTheFirstErrorInOrder() {
+        // Set
+        var script = engine.compile(RECORDS + "map(items, fn(x) { if (x < 10) { x + true } else { x } });");
+
+        // Act
+        var result = script.run();
+
+        // Assert
+        assertThat(result, is(equalTo(new Error("Type mismatch: INTEGER + BOOLEAN"))));
+    }
+
+    @Test
+    public void shouldRunFunctionsWithSideEffectsInOrder() {
+        // Set
+        var script = engine.compile(RECORDS + "len(map(items, fn(x) { print(x); x }));");
+        var out = System.out;
+        var printed = new ByteArrayOutputStream();
+
+        // Act
+        Value result;
+        System.setOut(new PrintStream(printed, true, StandardCharsets.UTF_8));
+        try {
+            result = script.run();
+        } finally {
+            System.setOut(out);
+        }
+
+        // Assert
+        assertThat(result, is(IntegerValue.of(5000)));
+        var expected = IntStream.iterate(5000, i -> i > 0, i -> i - 1)
+              .mapToObj(String::valueOf)
+              .collect(Collectors.joining(System.lineSeparator(), "", System.lineSeparator()));
+        assertThat(printed.toString(StandardCharsets.UTF_8), is(expected));
+    }
+
+    @Test
+    public void shouldCallHostBuiltinsInOrderUnlessRegisteredAsPure() {
+        // Set
+        var thread = Thread.currentThread();
+        List<Long> recorded = new ArrayList<>();
+        var registry = BuiltinRegistry.standard().register("record", value -> {
+            recorded.add(Thread.currentThread() == thread ? value.as(IntegerValue.class).value() : -1L);
+            return value;
+        });
+        var script = new ChicagoEngine(backend, new ScriptCache(registry))
+              .compile(RECORDS + "len(map(items, fn(x) { record(x) }));");
+
+        // Act
+        var result = script.run();
+
+        // Assert
+        assertThat(result, is(IntegerValue.of(5000)));
+        assertThat(recorded, is(equalTo(LongStream.iterate(5000, i -> i > 0, i -> i - 1).boxed().toList())));
+    }
+
+}
@@ -0,0 +1,203 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AstCacheTest {
+
+    private static final String SOURCE = "let add = fn(a, b) { a + b }; let xs = [1, -2, 9223372036854775807];"
+          + " let d = {\"k\": true, 2: \"é\"}; if (!false) { add(xs[0], len(\"abc\")) } else { d[\"k\"] };";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldDecodeTheProgramTheParserBuilds() throws IOException {
+        for (Object[] row : EvaluatorTest.data()) {
+            // Set
+            var source = (String) row[0];
+            var cache = new AstCache(folder.newFolder().toPath());
+            var parsed = cache.program(source);
+
+            // Act
+            var loaded = cache.program(source);
+
+            // Assert
+            assertThat(source, loaded, is(equalTo(parsed)));
+            assertThat(source, loaded, is(equalTo(new Parser(source).parseProgram())));
+            assertThat(cache.stats(), is(equalTo(new AstCache.Stats(1, 1, 0))));
+        }
+    }
+
+    @Test
+    public void shouldLoadProgramsAnotherCacheWrote() throws IOException {
+        // Set
+        var directory = folder.newFolder().toPath();
+        new AstCache(directory).program(SOURCE);
+        var cache = new AstCache(directory);
+
+        // Act
+        var program = cache.program(SOURCE);
+
+        // Assert
+        assertThat(cache.stats(), is(equalTo(new AstCache.Stats(1, 0, 0))));
+        assertThat(new Evaluator().evaluate(new Environment(), program), is(equalTo(IntegerValue.of(4))));
+    }
+
+    @Test
+    public void shouldReparseCorruptFiles() throws IOException {
+        // Set
+        var cache = new AstCache(folder.newFolder().toPath());
+        var parsed = cache.program(SOURCE);
+        var file = cache.file(SOURCE);
+        var bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 3] ^= 0x40;
+        Files.write(file, bytes);
+
+        // Act
+        var reparsed = cache.program(SOURCE);
+        var loaded = cache.program(SOURCE);
+
+        // Assert
+        assertThat(reparsed, is(equalTo(parsed)));
+        assertThat(loaded, is(equalTo(parsed)));
+        assertThat(cache.stats(), is(equalTo(new AstCache.Stats(1, 2, 1))));
+    }
+
+    @Test
+    public void shouldReparseTruncatedFiles() throws IOException {
+        // Set
+        var cache = new AstCache(folder.newFolder().toPath());
+        var parsed = cache.program(SOURCE);
+        var file = cache.file(SOURCE);
+        var bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+
+        // Act
+        var reparsed = cache.program(SOURCE);
+
+        // Assert
+        assertThat(reparsed, is(equalTo(parsed)));
+        assertThat(cache.stats().rejections(), is(1L));
+    }
+
+    @Test
+    public void shouldRejectFilesOfAnotherVersionOrSource() {
+        // Set
+        var program = new Parser(SOURCE).parseProgram();
+        var bytes = AstFormat.write(program, digest(SOURCE));
+        var otherVersion = bytes.clone();
+        otherVersion[5]++;
+
+        // Act
+        var decoded = AstFormat.read(ByteBuffer.wrap(bytes), digest(SOURCE));
+        var ofOtherVersion = AstFormat.read(ByteBuffer.wrap(otherVersion), digest(SOURCE));
+        var ofOtherSource = AstFormat.read(ByteBuffer.wrap(bytes), digest(SOURCE + " "));
+
+        // Assert
+        assertThat(new Resolver().resolve(decoded), is(equalTo(program)));
+        assertThat(ofOtherVersion, is(nullValue()));
+        assertThat(ofOtherSource, is(nullValue()));
+    }
+
+    @Test
+    public void shouldRejectPayloadsThatMatchTheirChecksumButNotTheFormat() {
+        // Set
+        var digest = digest(SOURCE);
+        byte[][] payloads = {
+              {0, 0, 1, 99},
+              {0, 0, 1, 1, 5},
+              {1, 1, 'x', 1, 0, 0, 1, 6, 0, 2},
+              {1, 1, 'x', 1, (byte) 0xFF, 0x7F, 0, 1, 3, 0, 6, 0, 2},
+              {0, 0, 1, 0},
+              {0, 0, 0, 0}
+        };
+
+        for (byte[] payload : payloads) {
+            // Act
+            var program = AstFormat.read(ByteBuffer.wrap(withPayload(digest, payload)), digest);
+
+            // Assert
+            assertThat(Arrays.toString(payload), program, is(nullValue()));
+        }
+    }
+
+    @Test
+    public void shouldLoadProgramsLargeEnoughToBeMapped() throws IOException {
+        // Set
+        var source = new StringBuilder("let values = [");
+        for (int i = 0; i < 10_000; i++) {
+            source.append("\"").append(i).append("\", ").append(i).append(", ");
+        }
+        source.append("0]; values[19999];");
+        var cache = new AstCache(folder.newFolder().toPath());
+        var parsed = cache.program(source.toString());
+
+        // Act
+        var loaded = cache.program(source.toString());
+
+        // Assert
+        assertThat(Files.size(cache.file(source.toString())) >= 64 * 1024, is(true));
+        assertThat(loaded, is(equalTo(parsed)));
+        assertThat(cache.stats(), is(equalTo(new AstCache.Stats(1, 1, 0))));
+    }
+
+    @Test
+    public void shouldReportParserErrorsWithoutWritingAFile() throws IOException {
+        // Set
+        var cache = new AstCache(folder.newFolder().toPath());
+
+        // Act
+        assertThrows(ParserException.class, () -> cache.program("let = 5;"));
+
+        // Assert
+        assertThat(Files.exists(cache.file("let = 5;")), is(false));
+    }
+
+    @Test
+    public void shouldLoadScriptCacheProgramsFromDisk() throws IOException {
+        // Set
+        var astCache = new AstCache(folder.newFolder().toPath());
+        new ScriptCache(astCache).program(SOURCE);
+
+        // Act
+        var program = new ScriptCache(astCache).program(SOURCE);
+
+        // Assert
+        assertThat(astCache.stats(), is(equalTo(new AstCache.Stats(1, 1, 0))));
+        assertThat(new Evaluator().evaluate(new Environment(), program), is(equalTo(IntegerValue.of(4))));
+    }
+
+    private static byte[] withPayload(byte[] digest, byte[] payload) {
+        var crc = new CRC32();
+        crc.update(payload);
+        var buffer = ByteBuffer.allocate(AstFormat.HEADER_SIZE + payload.length);
+        buffer.putInt(0x43485354).putShort((short) AstFormat.VERSION).put(digest);
+        buffer.putInt((int) crc.getValue()).putInt(payload.length).put(payload);
+        return buffer.array();
+    }
+
+    private static byte[] digest(String source) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
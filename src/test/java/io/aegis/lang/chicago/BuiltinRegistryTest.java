@@ -0,0 +1,107 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class BuiltinRegistryTest {
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        return Arrays.stream(ChicagoEngine.Backend.values()).map(backend -> new Object[]{backend}).toList();
+    }
+
+    private final ChicagoEngine.Backend backend;
+
+    public BuiltinRegistryTest(ChicagoEngine.Backend backend) {
+        this.backend = backend;
+    }
+
+    @Test
+    public void shouldCallHostBuiltinsOfEveryArity() {
+        // Set
+        var registry = BuiltinRegistry.standard()
+              .register("negate", value -> IntegerValue.of(-value.as(IntegerValue.class).value()))
+              .register("sub", (a, b) -> IntegerValue.of(a.as(IntegerValue.class).value()
+                    - b.as(IntegerValue.class).value()))
+              .register("clamp", (value, low, high) -> IntegerValue.of(Math.max(low.as(IntegerValue.class).value(),
+                    Math.min(high.as(IntegerValue.class).value(), value.as(IntegerValue.class).value()))))
+              .register("count", Builtin.VARIADIC, args -> IntegerValue.of(args.length));
+        var engine = new ChicagoEngine(backend, new ScriptCache(registry));
+
+        // Act
+        var result = engine.compile("let f = fn(x) { clamp(sub(x, 10), 0, 5) }; "
+              + "[negate(3), f(12), f(100), count(), count(1, 2, 3), len(map([1, 2], negate))]").eval(new Bindings());
+
+        // Assert
+        assertThat(result, is(equalTo(List.of(-3L, 2L, 5L, 0L, 3L, 2L))));
+    }
+
+    @Test
+    public void shouldReportCallsWithTheWrongNumberOfArguments() {
+        // Set
+        var registry = BuiltinRegistry.standard().register("twice", value -> value);
+        var engine = new ChicagoEngine(backend, new ScriptCache(registry));
+
+        // Act
+        var result = engine.compile("twice(1, 2)").run();
+
+        // Assert
+        assertThat(result, is(equalTo(new Error("Wrong number of arguments. Expected 1, but got 2"))));
+    }
+
+    @Test
+    public void shouldReportHigherOrderBuiltinsAppliedWithoutACaller() {
+        // Set
+        var map = BuiltinRegistry.standard().get("map").function();
+
+        // Act
+        var result = map.apply(new Array(List.of(IntegerValue.of(1))), BuiltinRegistry.STANDARD.get("len"));
+
+        // Assert
+        assertThat(result, is(equalTo(new Error("A builtin that takes functions needs a Caller to call them"))));
+    }
+
+    @Test
+    public void shouldReplaceABuiltinOfTheSameName() {
+        // Set
+        List<String> printed = new ArrayList<>();
+        var registry = BuiltinRegistry.standard().register("print", Builtin.VARIADIC, args -> {
+            Arrays.stream(args).map(Value::inspect).forEach(printed::add);
+            return NullValue.get();
+        });
+        var engine = new ChicagoEngine(backend, new ScriptCache(registry));
+
+        // Act
+        engine.compile("print(\"a\", 1); print(len([]));").run();
+
+        // Assert
+        assertThat(printed, is(equalTo(List.of("a", "1", "0"))));
+    }
+
+    @Test
+    public void shouldFreezeARegistryOnceItIsInUse() {
+        // Set
+        var registry = BuiltinRegistry.standard();
+        new ScriptCache(registry);
+
+        // Act
+        var thrown = assertThrows(IllegalStateException.class, () -> registry.register("late", value -> value));
+
+        // Assert
+        assertThat(registry.isFrozen(), is(true));
+        assertThat(thrown.getMessage(), is(equalTo("Can't register 'late' in a registry already in use")));
+    }
+
+}
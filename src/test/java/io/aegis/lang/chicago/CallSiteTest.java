@@ -0,0 +1,105 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+public class CallSiteTest {
+
+    @Test
+    public void shouldReuseTheTargetOfAKnownLiteral() {
+        // Set
+        var site = new CallSite();
+        var literal = literal("fn(a, b) { a + b }");
+
+        // Act
+        var first = site.target(literal);
+        var second = site.target(literal);
+
+        // Assert
+        assertThat(second, is(sameInstance(first)));
+        assertThat(first.arity(), is(2));
+        assertThat(site.isMegamorphic(), is(false));
+    }
+
+    @Test
+    public void shouldGoMegamorphicPastThePolymorphicLimit() {
+        // Set
+        var site = new CallSite();
+        for (int i = 0; i < CallSite.POLYMORPHIC_LIMIT; i++) {
+            site.target(literal("fn(x) { x }"));
+        }
+
+        // Act
+        var literal = literal("fn(x, y) { y }");
+        var first = site.target(literal);
+        var second = site.target(literal);
+
+        // Assert
+        assertThat(site.isMegamorphic(), is(true));
+        assertThat(first.arity(), is(2));
+        assertThat(first.next(), is(nullValue()));
+        assertThat(second == first, is(false));
+    }
+
+    @Test
+    public void shouldForgetTheCalleeOnceItsScopeChanges() {
+        // Set
+        var site = new CallSite();
+        var scope = new Environment();
+        site.rememberCallee(this, scope, scope.version(), IntegerValue.of(1));
+
+        // Act
+        var before = site.callee(scope);
+        scope.set("f", IntegerValue.of(2));
+        var after = site.callee(scope);
+
+        // Assert
+        assertThat(before, is(IntegerValue.of(1)));
+        assertThat(after, is(nullValue()));
+        assertThat(site.callee(new Environment()), is(nullValue()));
+    }
+
+    @Test
+    public void shouldNotRememberACalleeWhoseScopeCanChangeFromAbove() {
+        // Set
+        var site = new CallSite();
+        var scope = new Environment(new Environment());
+
+        // Act
+        site.rememberCallee(this, scope, scope.version(), IntegerValue.of(1));
+
+        // Assert
+        assertThat(site.callee(scope), is(nullValue()));
+    }
+
+    @Test
+    public void shouldForgetOnlyTheCalleeOfTheGivenOwner() {
+        // Set
+        var site = new CallSite();
+        var scope = new Environment();
+        var owner = new Object();
+        var first = site.rememberCallee(owner, scope, scope.version(), IntegerValue.of(1));
+        var again = site.rememberCallee(owner, scope, scope.version(), IntegerValue.of(1));
+
+        // Act
+        site.forgetCallee(new Object());
+        var kept = site.callee(scope);
+        site.forgetCallee(owner);
+
+        // Assert
+        assertThat(first, is(true));
+        assertThat(again, is(false));
+        assertThat(kept, is(IntegerValue.of(1)));
+        assertThat(site.callee(scope), is(nullValue()));
+    }
+
+    private static FunctionLiteral literal(String source) {
+        return new Parser(source).parseProgram().iterator()
+              .nextStatementAs(ExpressionStatement.class).expressionAs(FunctionLiteral.class);
+    }
+
+}
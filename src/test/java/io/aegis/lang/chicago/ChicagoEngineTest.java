@@ -0,0 +1,218 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class ChicagoEngineTest {
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        return Arrays.stream(ChicagoEngine.Backend.values()).map(backend -> new Object[]{backend}).toList();
+    }
+
+    private final ChicagoEngine.Backend backend;
+    private final ChicagoEngine engine;
+
+    public ChicagoEngineTest(ChicagoEngine.Backend backend) {
+        this.backend = backend;
+        this.engine = new ChicagoEngine(backend);
+    }
+
+    @Test
+    public void shouldBindHostValues() {
+        // Set
+        var script = engine.compile("if (user[\"active\"]) { limit * 2 } else { first(tags) }");
+
+        // Act
+        var active = script.eval(new Bindings()
+              .put("user", Map.of("active", true))
+              .put("limit", 21)
+              .put("tags", List.of("a", "b")));
+        var inactive = script.eval(new Bindings()
+              .put("user", Map.of("active", false))
+              .put("limit", 21)
+              .put("tags", List.of("a", "b")));
+
+        // Assert
+        assertThat(active, is(equalTo(42L)));
+        assertThat(inactive, is(equalTo("a")));
+    }
+
+    @Test
+    public void shouldConvertResultsToJavaObjects() {
+        // Set
+        var script = engine.compile("[n, \"x\", true, {\"k\": [n]}, empty]");
+
+        // Act
+        var result = script.eval(Bindings.of(Map.of("n", 7L, "empty", List.of())));
+
+        // Assert
+        assertThat(result, is(equalTo(List.of(7L, "x", true, Map.of("k", List.of(7L)), List.of()))));
+    }
+
+    @Test
+    public void shouldReturnValuesFromRun() {
+        // Set
+        var script = engine.compile("let double = fn(x) { x * 2 }; double(n);");
+
+        // Act
+        var result = script.run(new Bindings().put("n", 5));
+
+        // Assert
+        assertThat(result, is(equalTo(IntegerValue.of(10))));
+    }
+
+    @Test
+    public void shouldRaiseEvaluationErrors() {
+        // Set
+        var script = engine.compile("n + true;");
+
+        // Act
+        var ex = assertThrows(EvaluationException.class, () -> script.eval(new Bindings().put("n", 1)));
+
+        // Assert
+        assertThat(ex.error(), is(equalTo(new Error("Type mismatch: INTEGER + BOOLEAN"))));
+    }
+
+    @Test
+    public void shouldReportMissingBindings() {
+        // Set
+        var script = engine.compile("missing;");
+
+        // Act
+        var result = script.run();
+
+        // Assert
+        assertThat(result, is(equalTo(new Error("Identifier not found: missing"))));
+    }
+
+    @Test
+    public void shouldRejectUnsupportedHostValues() {
+        assertThrows(IllegalArgumentException.class, () -> new Bindings().put("n", 1.5));
+    }
+
+    @Test
+    public void shouldStopARunThatExceedsItsStepBudget() {
+        // Set
+        var limited = new ChicagoEngine(backend, new ScriptCache(), Limits.NONE.withMaxSteps(10_000));
+        var script = limited.compile("let loop = fn(n) { loop(n + 1) }; if (runaway) { loop(0) } else { len([1]) }");
+
+        // Act
+        var runaway = script.run(new Bindings().put("runaway", true));
+        var bounded = script.run(new Bindings().put("runaway", false));
+
+        // Assert
+        assertThat(runaway, is(equalTo(new Error("Step budget of 10000 exceeded"))));
+        assertThat(bounded, is(equalTo(IntegerValue.of(1))));
+    }
+
+    @Test
+    public void shouldStopARunThatExceedsItsTimeout() {
+        // Set
+        var limited = new ChicagoEngine(backend, new ScriptCache(), Limits.NONE.withTimeout(Duration.ofMillis(50)));
+        var script = limited.compile("let loop = fn(n) { loop(n + 1) }; loop(0);");
+
+        // Act
+        var result = script.run();
+
+        // Assert
+        assertThat(result, is(equalTo(new Error("Timed out after 50 ms"))));
+    }
+
+    @Test
+    public void shouldNotBoundTheCallDepthOfAnUnlimitedRun() {
+        // Set
+        var script = engine.compile("let f = fn(n) { if (n > 0) { 1 + f(n - 1) } else { 0 } }; f(300);");
+
+        // Act
+        var result = script.run();
+
+        // Assert
+        assertThat(result, is(equalTo(IntegerValue.of(300))));
+    }
+
+    @Test
+    public void shouldStopARunThatExceedsTheDefaultCallDepth() {
+        // Set
+        var limited = new ChicagoEngine(backend, new ScriptCache(), Limits.NONE.withTimeout(Duration.ofMinutes(1)));
+        var script = limited.compile("let deep = fn(n) { 1 + deep(n + 1) }; deep(0);");
+
+        // Act
+        var result = script.run();
+
+        // Assert
+        assertThat(result, is(equalTo(new Error("Call depth of " + Limits.DEFAULT_MAX_DEPTH + " exceeded"))));
+    }
+
+    @Test
+    public void shouldStopARunThatExceedsItsCallDepth() {
+        // Set
+        var limited = new ChicagoEngine(backend, new ScriptCache(), Limits.NONE.withMaxDepth(10));
+        var script = limited.compile("let deep = fn(n) { if (n == 0) { 0 } else { 1 + deep(n - 1) } }; "
+              + "let loop = fn(n) { if (n == 0) { 0 } else { loop(n - 1) } }; [deep(depth), loop(1000)];");
+
+        // Act
+        var within = script.eval(new Bindings().put("depth", 9));
+        var beyond = script.run(new Bindings().put("depth", 10));
+
+        // Assert
+        assertThat(within, is(equalTo(List.of(9L, 0L))));
+        assertThat(beyond, is(equalTo(new Error("Call depth of 10 exceeded"))));
+    }
+
+    @Test
+    public void shouldProfileAScript() {
+        // Set
+        var script = engine.compile("let double = fn(x) { x * 2 }; double(n) + double(1);");
+        var profiler = new Profiler();
+
+        // Act
+        var result = script.profile(new Bindings().put("n", 20), profiler);
+
+        // Assert
+        assertThat(result, is(equalTo(IntegerValue.of(42))));
+        var profile = profiler.functions().stream().filter(function -> function.name().equals("double")).findFirst();
+        assertThat(profile.orElseThrow().calls(), is(2L));
+    }
+
+    @Test
+    public void shouldReportAStringTooLongToHold() {
+        // Set
+        var script = engine.compile("let double = fn(s, n) { if (n == 0) { s } else { double(s + s, n - 1) } }; "
+              + "len(double(s, 25));");
+
+        // Act
+        var result = script.run(new Bindings().put("s", "x".repeat(64)));
+
+        // Assert
+        assertThat(result, is(equalTo(new Error("String too long: 2147483648 characters"))));
+    }
+
+    @Test
+    public void shouldLookUpTheCacheOncePerCompile() {
+        // Set
+        var cache = new ScriptCache();
+        var engine = new ChicagoEngine(backend, cache);
+
+        // Act
+        engine.compile("1 + 2;");
+        engine.compile("1 + 2;");
+
+        // Assert
+        assertThat(cache.stats(), is(equalTo(new ScriptCache.Stats(1, 1, 0, 1))));
+    }
+
+}
@@ -0,0 +1,41 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Collection;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class ClosureCompilerTest {
+
+    @Parameters
+    public static Collection<Object[]> data() {
+        return EvaluatorTest.data();
+    }
+
+    private final String input;
+    private final Value expected;
+
+    public ClosureCompilerTest(String input, Value expected) {
+        this.input = input;
+        this.expected = expected;
+    }
+
+    @Test
+    public void shouldEvaluateToExpectedValue() {
+        // Set
+        var program = new ClosureCompiler().compile(new Parser(input).parseProgram());
+
+        // Act
+        var result = new Evaluator().evaluate(new Environment(), program);
+
+        // Assert
+        assertThat(result, is(equalTo(expected)));
+    }
+
+}
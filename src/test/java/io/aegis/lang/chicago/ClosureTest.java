@@ -0,0 +1,82 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class ClosureTest {
+
+    private static final int LARGE = 1_000_000;
+
+    private final List<WeakReference<Array>> allocated = new ArrayList<>();
+    private final BuiltinRegistry builtins = BuiltinRegistry.standard().register("allocate", (UnaryBuiltin) size -> {
+        var array = new Array(Collections.nCopies(LARGE, IntegerValue.of(1)));
+        allocated.add(new WeakReference<>(array));
+        return array;
+    });
+
+    @Test
+    public void shouldNotKeepLocalsTheClosureDoesNotReference() {
+        // Set
+        var environment = new Environment();
+        var evaluator = new Evaluator();
+        evaluator.evaluate(environment, parse("""
+              let make = fn(n) { let data = allocate(n); let size = len(data); fn(u) { size } };
+              let callback = make(0);
+              """));
+
+        // Act
+        collectGarbage();
+
+        // Assert
+        assertThat(allocated.get(0).get(), is(nullValue()));
+        assertThat(evaluator.evaluate(environment, parse("callback(0)")), is(equalTo(IntegerValue.of(LARGE))));
+    }
+
+    @Test
+    public void shouldKeepLocalsTheClosureReferences() {
+        // Set
+        var environment = new Environment();
+        var evaluator = new Evaluator();
+        evaluator.evaluate(environment, parse("""
+              let make = fn(n) { let data = allocate(n); fn(u) { len(data) } };
+              let callback = make(0);
+              """));
+
+        // Act
+        collectGarbage();
+
+        // Assert
+        assertThat(evaluator.evaluate(environment, parse("callback(0)")), is(equalTo(IntegerValue.of(LARGE))));
+    }
+
+    @Test
+    public void shouldSeeLocalsDeclaredAfterTheClosure() {
+        // Set
+        var program = parse("let f = fn(u) { let g = fn(v) { x }; let x = 4; g(0) }; f(0);");
+
+        // Act
+        var result = new Evaluator().evaluate(new Environment(), program);
+
+        // Assert
+        assertThat(result, is(equalTo(IntegerValue.of(4))));
+    }
+
+    private Program parse(String source) {
+        return new Parser(source, builtins).parseProgram();
+    }
+
+    private void collectGarbage() {
+        for (int i = 0; i < 10 && allocated.stream().anyMatch(reference -> reference.get() != null); i++) {
+            System.gc();
+        }
+    }
+
+}
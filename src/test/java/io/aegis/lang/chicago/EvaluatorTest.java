@@ -58,7 +58,53 @@ public class EvaluatorTest {
                     {"push([1], 2);", new Array(List.of(IntegerValue.of(1), IntegerValue.of(2)))},
                     {"{\"one\": 1 + 1};", new Dictionary(Map.of(new StringValue("one"), new IntegerValue(2)))},
                     {"{\"one\": 1}[\"one\"]", new IntegerValue(1)},
-                    {"let map = {\"one\": 1}; map[\"one\"];", new IntegerValue(1)}
+                    {"let map = {\"one\": 1}; map[\"one\"];", new IntegerValue(1)},
+                    {"let f = fn(a) { fn(b) { fn(c) { a + b + c } } }; f(1)(2)(3);", new IntegerValue(6)},
+                    {"let x = 10; let f = fn(a) { let y = x; let x = 2; y + x }; f(0);", new IntegerValue(12)},
+                    {"let f = fn(a) { if (a > 0) { let r = a * 2; } r }; f(3);", new IntegerValue(6)},
+                    {"let f = fn(x, x) { x }; f(1, 2);", new IntegerValue(2)},
+                    {"let fill = fn(arr, n) { if (n > 0) { fill(push(arr, n), n - 1) } else { arr } };"
+                          + " let arr = fill([], 100); [len(arr), arr[0], arr[40], last(tail(tail(arr)))];",
+                          new Array(List.of(IntegerValue.of(100), IntegerValue.of(100), IntegerValue.of(60),
+                                IntegerValue.of(1)))},
+                    {"let d = {\"a\": 1}; let e = put(d, \"b\", 2); [len(keys(d)), e[\"b\"], d[\"b\"]];",
+                          new Array(List.of(IntegerValue.of(1), IntegerValue.of(2), NullValue.get()))},
+                    {"delete({\"a\": 1, \"b\": 2}, \"a\");", new Dictionary(Map.of(new StringValue("b"), IntegerValue.of(2)))},
+                    {"values(put({}, 1, true));", new Array(List.of(BooleanValue.TRUE))},
+                    {"put([], 1, 2);", new Error("First argument to 'put' must be DICTIONARY, but got ARRAY")},
+                    {"let count = fn(n, acc) { if (n == 0) { acc } else { count(n - 1, acc + 1) } }; count(100000, 0);",
+                          IntegerValue.of(100000)},
+                    {"let count = fn(n) { if (n > 0) { return count(n - 1); } n }; count(100000);", IntegerValue.of(0)},
+                    {"let even = fn(n) { if (n == 0) { true } else { odd(n - 1) } };"
+                          + " let odd = fn(n) { if (n == 0) { false } else { even(n - 1) } }; even(100001);",
+                          BooleanValue.FALSE},
+                    {"let collect = fn(n, acc) { if (n == 0) { acc } else { collect(n - 1, push(acc, fn(x) { n })) } };"
+                          + " let fs = collect(3, []); fs[0](0) + fs[2](0);", IntegerValue.of(4)},
+                    {"let f = fn(n) { let seen = x; let x = n; if (n == 0) { seen } else { f(n - 1) } }; let x = 7; f(2);",
+                          IntegerValue.of(7)},
+                    {"let f = fn(x) { x }; let g = fn(x) { f(x) }; let a = g(1); let f = fn(x) { x * 2 }; a + g(1);",
+                          IntegerValue.of(3)},
+                    {"let h = fn(x) { len(x) }; h(\"ab\") + h(\"abc\");", IntegerValue.of(5)},
+                    {"let f = fn(a, b) { a }; f(1);", new Error("Wrong number of arguments. Expected 2, but got 1")},
+                    {"let apply = fn(f, x) { f(x) }; apply(fn(x) { x + 1 }, 1) + apply(fn(x) { x * 3 }, 2)"
+                          + " + apply(fn(x) { x }, 3) + apply(fn(x) { 0 }, 4) + apply(fn(x) { x - 5 }, 5);",
+                          IntegerValue.of(11)},
+                    {"map([1, 2, 3], fn(x) { x * 2 });",
+                          new Array(List.of(IntegerValue.of(2), IntegerValue.of(4), IntegerValue.of(6)))},
+                    {"filter([1, 2, 3, 4], fn(x) { x > 2 });", new Array(List.of(IntegerValue.of(3), IntegerValue.of(4)))},
+                    {"reduce([1, 2, 3, 4], 0, fn(acc, x) { acc + x });", IntegerValue.of(10)},
+                    {"map([\"ab\", \"c\"], len);", new Array(List.of(IntegerValue.of(2), IntegerValue.of(1)))},
+                    {"map([1], len);", new Error("Argument to 'len' not supported, got INTEGER")},
+                    {"map([1], fn(x, y) { x });", new Error("Wrong number of arguments. Expected 2, but got 1")},
+                    {"filter(1, len);", new Error("First argument to 'filter' must be ARRAY, but got INTEGER")},
+                    {"map([1], 2);", new Error("Second argument to 'map' must be FUNCTION, but got INTEGER")},
+                    {"let add = fn(a, b) { a + b }; add(1, 2); add(\"a\", \"b\");", new StringValue("ab")},
+                    {"let lt = fn(a, b) { a < b }; lt(1, 2); lt(true, 1);", new Error("Type mismatch: BOOLEAN < INTEGER")},
+                    {"let eq = fn(a, b) { a == b }; eq(1, 1); eq(true, true);", BooleanValue.TRUE},
+                    {"let f = fn(n) { let down = fn(i) { if (i == 0) { 0 } else { 1 + down(i - 1) } }; down(n) }; f(5);",
+                          IntegerValue.of(5)},
+                    {"let adder = fn(a) { fn(b) { fn(c) { a + b + c } } }; adder(1)(2)(3);", IntegerValue.of(6)},
+                    {"let x = 9; let f = fn(u) { let g = fn(v) { x }; g(0) }; f(0);", IntegerValue.of(9)}
               }
         );
     }
@@ -0,0 +1,60 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+public class InfixExpressionTest {
+
+    @Test
+    public void shouldSpecializeOnTheFirstOperands() {
+        // Set
+        var infix = infix("+");
+
+        // Act
+        var first = infix.apply(IntegerValue.of(1), IntegerValue.of(2));
+        var second = infix.apply(IntegerValue.of(3), IntegerValue.of(4));
+
+        // Assert
+        assertThat(first, is(equalTo(IntegerValue.of(3))));
+        assertThat(second, is(equalTo(IntegerValue.of(7))));
+        assertThat(infix.specialization(), is(InfixExpression.Specialization.INTEGER_ADD));
+    }
+
+    @Test
+    public void shouldTurnGenericWhenTheOperandTypesChange() {
+        // Set
+        var infix = infix("+");
+        infix.apply(new StringValue("a"), new StringValue("b"));
+
+        // Act
+        var mismatch = infix.apply(new StringValue("a"), IntegerValue.of(1));
+        var strings = infix.apply(new StringValue("a"), new StringValue("b"));
+
+        // Assert
+        assertThat(mismatch, is(equalTo(new Error("Type mismatch: STRING + INTEGER"))));
+        assertThat(strings, is(equalTo(new StringValue("ab"))));
+        assertThat(infix.specialization(), is(InfixExpression.Specialization.GENERIC));
+    }
+
+    @Test
+    public void shouldKeepOperatorsWithoutAnEnumGeneric() {
+        // Set
+        var infix = infix("%");
+
+        // Act
+        var result = infix.apply(IntegerValue.of(7), IntegerValue.of(2));
+
+        // Assert
+        assertThat(result, is(equalTo(new Error("Unknown operator: INTEGER % INTEGER"))));
+        assertThat(infix.specialization(), is(InfixExpression.Specialization.GENERIC));
+    }
+
+    private static InfixExpression infix(String operator) {
+        return new InfixExpression(Token.PLUS, new Identifier(Token.newIdentifier("a"), "a"), operator,
+              new Identifier(Token.newIdentifier("b"), "b"));
+    }
+
+}
@@ -0,0 +1,53 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+public class IntegerValueTest {
+
+    @Test
+    public void shouldReturnTheCachedInstanceForSmallValues() {
+        assertThat(IntegerValue.of(-128), is(sameInstance(IntegerValue.of(-128))));
+        assertThat(IntegerValue.of(0), is(sameInstance(IntegerValue.of(0))));
+        assertThat(IntegerValue.of(1024), is(sameInstance(IntegerValue.of(1024))));
+    }
+
+    @Test
+    public void shouldAllocateValuesOutsideTheCachedRange() {
+        assertThat(IntegerValue.of(1025), is(not(sameInstance(IntegerValue.of(1025)))));
+        assertThat(IntegerValue.of(1025), is(equalTo(IntegerValue.of(1025))));
+    }
+
+    @Test
+    public void shouldMaterializeTheValueOfAnIntegerLiteralOnce() {
+        // Set
+        var program = new Parser("123456789;").parseProgram();
+        var literal = program.iterator().nextStatementAs(ExpressionStatement.class).expressionAs(IntegerLiteral.class);
+
+        // Act
+        var first = new Evaluator().evaluate(new Environment(), program);
+        var second = new Evaluator().evaluate(new Environment(), program);
+
+        // Assert
+        assertThat(first, is(sameInstance(literal.integer())));
+        assertThat(second, is(sameInstance(literal.integer())));
+    }
+
+    @Test
+    public void shouldNotAllocateForSmallArithmeticResults() {
+        // Set
+        var program = new Parser("let a = 500; a * 2;").parseProgram();
+
+        // Act
+        var result = new Evaluator().evaluate(new Environment(), program);
+
+        // Assert
+        assertThat(result, is(sameInstance(IntegerValue.of(1000))));
+    }
+
+}
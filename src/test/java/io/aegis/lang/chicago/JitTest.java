@@ -0,0 +1,113 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class JitTest {
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+              {"let fib = fn(n) { if (n < 2) { return n; } fib(n - 1) + fib(n - 2) }; fib(20);", true},
+              {"let sum = fn(n, acc) { if (n == 0) { acc } else { sum(n - 1, acc + n) } }; sum(100000, 0);", true},
+              {"let f = fn(x) { let y = x * 2; let z = y - 1; z / 3 }; f(10) + f(-10);", true},
+              {"let f = fn(a, b) { let m = if (a > b) { a } else { b }; if (!(m == a) == true) { m * 10 } else { -m } };"
+                    + " f(3, 7) + f(7, 3);", true},
+              {"let f = fn(n) { if (n < 0) { return 0 - n; } if (n) { n } else { 42 } }; f(-4) + f(4) + f(0);", true},
+              {"let f = fn(x) { x * x * x * x * x }; f(100000);", true},
+              {"let f = fn(n) { if (n > 0) { f(n - 1) } n * 2 }; f(3);", true},
+              {"let f = fn(a, b) { a + b }; f(1, 2); f(\"a\", \"b\");", true},
+              {"let f = fn(n) { if (n == 0) { 0 } else { f(n - 1) + 1 } }; let g = f; let f = fn(n) { 100 }; g(5);",
+                    true},
+              {"let deep = fn(n) { if (n == 0) { 0 } else { 1 + deep(n - 1) } }; deep(255);", true},
+              {"let deep = fn(n) { if (n == 0) { 0 } else { 1 + deep(n - 1) } }; deep(256);", true},
+              {"let deep = fn(n) { if (n == 0) { 0 } else { 1 + deep(n - 1) } }; deep(100000);", true},
+              {"let f = fn(n) { if (n == 0) { f(1) } else { g(n - 1) } }; let g = fn(n) { n }; f(3);", false},
+              {"let f = fn(n) { if (n > 0) { 1 } }; f(1);", false},
+              {"let f = fn(n) { if (n > 0) { let y = 1; } n }; f(1);", false},
+              {"let f = fn(n) { n == 1 }; f(1);", false},
+              {"let f = fn(n) { len(\"abc\") + n }; f(1);", false}
+        });
+    }
+
+    // bounds only the depth, so the JIT still runs, and the deep rows fail like they would with limits
+    private static final Limits LIMITS = Limits.NONE.withMaxDepth(Limits.DEFAULT_MAX_DEPTH);
+
+    private final String input;
+    private final boolean compilable;
+    private String threshold;
+
+    public JitTest(String input, boolean compilable) {
+        this.input = input;
+        this.compilable = compilable;
+    }
+
+    @Before
+    public void compileOnTheFirstCall() {
+        threshold = System.setProperty(Jit.THRESHOLD_PROPERTY, "0");
+    }
+
+    @After
+    public void restoreTheThreshold() {
+        if (threshold == null) {
+            System.clearProperty(Jit.THRESHOLD_PROPERTY);
+        } else {
+            System.setProperty(Jit.THRESHOLD_PROPERTY, threshold);
+        }
+    }
+
+    @Test
+    public void shouldEvaluateToTheSameValueAsTheInterpreter() {
+        // Set
+        var program = new Parser(input).parseProgram();
+        System.setProperty(Jit.THRESHOLD_PROPERTY, "-1");
+        var expected = new Evaluator(LIMITS).evaluate(new Environment(), program);
+        System.setProperty(Jit.THRESHOLD_PROPERTY, "0");
+
+        // Act
+        var result = new Evaluator(LIMITS).evaluate(new Environment(), program);
+
+        // Assert
+        assertThat(result, is(equalTo(expected)));
+    }
+
+    @Test
+    public void shouldBeOffByDefault() {
+        // Set
+        System.clearProperty(Jit.THRESHOLD_PROPERTY);
+        var program = new Parser(input).parseProgram();
+        var literal = (FunctionLiteral) program.iterator().nextStatementAs(LetStatement.class).value();
+
+        // Act
+        new Evaluator(LIMITS).evaluate(new Environment(), program);
+
+        // Assert
+        assertThat(literal.compiled(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldCompileOnlyFunctionsThatComputeWithIntegers() {
+        // Set
+        var literal = new Parser(input).parseProgram().iterator().nextStatementAs(LetStatement.class).value();
+
+        // Act
+        var compiled = Jit.compile((FunctionLiteral) literal);
+
+        // Assert
+        assertThat(compiled == Jit.NOT_COMPILABLE, is(not(compilable)));
+    }
+
+}
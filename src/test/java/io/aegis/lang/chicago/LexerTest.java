@@ -31,8 +31,13 @@ import static io.aegis.lang.chicago.Token.newInteger;
 import static io.aegis.lang.chicago.Token.newString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.List;
 import org.junit.Test;
 
@@ -160,4 +165,85 @@ public class LexerTest {
             assertThat(got, is(equalTo(expected)));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldLexFromAReaderOneCharacterAtATime() {
+        // Set
+        var input = "let total = add(first, \"two words\");";
+        Reader reader = new FilterReader(new StringReader(input)) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 1));
+            }
+        };
+
+        // Act
+        var fromReader = new Lexer(reader);
+        var fromString = new Lexer(input);
+
+        // Assert
+        Token token;
+        do {
+            token = fromString.nextToken();
+            assertThat(fromReader.nextToken(), is(equalTo(token)));
+        } while (token.isNotLastOne());
+    }
+
+    @Test
+    public void shouldReportTheLineAndColumnOfEachToken() {
+        // Set
+        var lexer = new Lexer("let x = 5;\n  x\n\n+ 10");
+
+        // Act & Assert
+        assertThat(lexer.nextToken(), is(equalTo(LET)));
+        assertThat(List.of(lexer.tokenLine(), lexer.tokenColumn()), is(equalTo(List.of(1, 1))));
+        lexer.nextToken();
+        assertThat(List.of(lexer.tokenLine(), lexer.tokenColumn()), is(equalTo(List.of(1, 5))));
+        lexer.nextToken();
+        lexer.nextToken();
+        lexer.nextToken();
+        assertThat(List.of(lexer.tokenLine(), lexer.tokenColumn()), is(equalTo(List.of(1, 10))));
+        assertThat(lexer.nextToken(), is(equalTo(newIdentifier("x"))));
+        assertThat(List.of(lexer.tokenLine(), lexer.tokenColumn()), is(equalTo(List.of(2, 3))));
+        assertThat(lexer.nextToken(), is(equalTo(PLUS)));
+        assertThat(List.of(lexer.tokenLine(), lexer.tokenColumn()), is(equalTo(List.of(4, 1))));
+        assertThat(lexer.nextToken(), is(equalTo(newInteger("10"))));
+        assertThat(List.of(lexer.tokenLine(), lexer.tokenColumn()), is(equalTo(List.of(4, 3))));
+    }
+
+    @Test
+    public void shouldLexBlankInputAsEndOfFile() {
+        assertThat(new Lexer("").nextToken(), is(equalTo(new Token(TokenType.EOF, ""))));
+        assertThat(new Lexer(" \n\t").nextToken(), is(equalTo(new Token(TokenType.EOF, ""))));
+    }
+
+    @Test
+    public void shouldReturnOneCanonicalTokenPerIdentifier() {
+        // Set
+        var lexer = new Lexer("total + total");
+        var other = new Lexer("total");
+
+        // Act
+        var first = lexer.nextToken();
+        lexer.nextToken();
+        var second = lexer.nextToken();
+
+        // Assert
+        assertThat(second, is(sameInstance(first)));
+        assertThat(other.nextToken().literal(), is(sameInstance(first.literal())));
+    }
+
+    @Test
+    public void shouldOnlyTreatLanguageKeywordsAsKeywords() {
+        // Set
+        var lexer = new Lexer("fn fns IDENT EOF returned return");
+
+        // Act & Assert
+        assertThat(lexer.nextToken(), is(equalTo(FUNCTION)));
+        assertThat(lexer.nextToken(), is(equalTo(newIdentifier("fns"))));
+        assertThat(lexer.nextToken(), is(equalTo(newIdentifier("IDENT"))));
+        assertThat(lexer.nextToken(), is(equalTo(newIdentifier("EOF"))));
+        assertThat(lexer.nextToken(), is(equalTo(newIdentifier("returned"))));
+        assertThat(lexer.nextToken(), is(equalTo(RETURN)));
+    }
+}
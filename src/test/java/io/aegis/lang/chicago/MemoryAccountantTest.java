@@ -0,0 +1,118 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class MemoryAccountantTest {
+
+    private static final String GROW = """
+          let grow = fn(s, n) { if (n == 0) { len(s) } else { grow(s + "0123456789", n - 1) } };
+          grow("", n);
+          """;
+
+    @Test
+    public void shouldFailARunThatExceedsItsQuota() {
+        // Set
+        var runner = new ProgramRunner(new Parser(GROW).parseProgram());
+        var limits = Limits.NONE.withMaxBytes(100_000);
+
+        // Act
+        var small = runner.run(Map.of("n", IntegerValue.of(10)), limits);
+        var large = runner.run(Map.of("n", IntegerValue.of(10_000)), limits);
+
+        // Assert
+        assertThat(small, is(IntegerValue.of(100)));
+        assertThat(large, is(equalTo(new Error("Memory quota of 100000 bytes exceeded"))));
+    }
+
+    @Test
+    public void shouldFailAVirtualMachineRunThatExceedsItsQuota() {
+        // Set
+        var engine = new ChicagoEngine(ChicagoEngine.Backend.VIRTUAL_MACHINE, new ScriptCache(),
+              Limits.NONE.withMaxBytes(100_000));
+        var script = engine.compile(GROW + "let f = fn(x) { fn(y) { x + y } }; [f(1), {1: 2}][0](2);");
+
+        // Act
+        var small = script.run(new Bindings().put("n", 10));
+        var large = script.run(new Bindings().put("n", 10_000));
+
+        // Assert
+        assertThat(small, is(IntegerValue.of(3)));
+        assertThat(large, is(equalTo(new Error("Memory quota of 100000 bytes exceeded"))));
+    }
+
+    @Test
+    public void shouldChargeTheCharactersOfARopeBeforeItIsFlattened() {
+        for (ChicagoEngine.Backend backend : ChicagoEngine.Backend.values()) {
+            // Set
+            var engine = new ChicagoEngine(backend, new ScriptCache(), Limits.NONE.withMaxBytes(1_000_000));
+            var script = engine.compile("let d = fn(s, n) { if (n == 0) { s } else { d(s + s, n - 1) } }; "
+                  + "let h = {d(s, 22): 1}; len(h);");
+
+            // Act
+            var result = script.run(new Bindings().put("s", "x".repeat(70)));
+
+            // Assert
+            assertThat(backend.name(), result, is(equalTo(new Error("Memory quota of 1000000 bytes exceeded"))));
+        }
+    }
+
+    @Test
+    public void shouldChargeOnlyTheCopiedPathOfAPersistentUpdate() {
+        // Set
+        var evaluator = new Evaluator();
+        var program = new Parser("""
+              let fill = fn(arr, n) { if (n == 0) { len(arr) } else { fill(push(arr, n), n - 1) } };
+              fill([], 10000);
+              """).parseProgram();
+
+        // Act
+        var result = evaluator.evaluate(new Environment(), program);
+
+        // Assert
+        assertThat(result, is(IntegerValue.of(10_000)));
+        var perIteration = evaluator.accountedBytes() / 10_000;
+        assertThat(perIteration, is(greaterThan(MemoryAccountant.PATH_BYTES)));
+        assertThat(perIteration, is(lessThan(2 * MemoryAccountant.PATH_BYTES)));
+    }
+
+    @Test
+    public void shouldReportTheBytesOfTheLastEvaluation() {
+        // Set
+        var evaluator = new Evaluator();
+        var environment = new Environment();
+
+        // Act
+        evaluator.evaluate(environment, new Parser("[1, 2, 3, 4];").parseProgram());
+        var first = evaluator.accountedBytes();
+        evaluator.evaluate(environment, new Parser("5;").parseProgram());
+        var second = evaluator.accountedBytes();
+
+        // Assert
+        assertThat(first, is(MemoryAccountant.ARRAY_BYTES + 4 * MemoryAccountant.REFERENCE_BYTES));
+        assertThat(second, is(0L));
+    }
+
+    @Test
+    public void shouldNotChargeBuiltinsThatReturnAnArgument() {
+        // Set
+        var accountant = new MemoryAccountant(Limits.NONE);
+        var array = new Array(List.of(IntegerValue.of(1)));
+
+        // Act
+        var exhausted = accountant.chargeResult(array, new Value[] {array});
+
+        // Assert
+        assertThat(exhausted, is(nullValue()));
+        assertThat(accountant.accountedBytes(), is(0L));
+    }
+
+}
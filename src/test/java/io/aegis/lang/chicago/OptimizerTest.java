@@ -0,0 +1,62 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+public class OptimizerTest {
+
+    @Test
+    public void shouldFoldLiteralExpressions() {
+        assertThat(optimize("1 + 2 * 3 - -4;"), is(equalTo("11")));
+        assertThat(optimize("(10 / 3) < 4 == true;"), is(equalTo("true")));
+        assertThat(optimize("\"ab\" + \"cd\";"), is(equalTo("abcd")));
+        assertThat(optimize("!5;"), is(equalTo("false")));
+        assertThat(optimize("[1 + 1, {\"k\": 2 * 2}[\"k\"]];"), is(equalTo("[2, ({k:4})[k]]")));
+    }
+
+    @Test
+    public void shouldLeaveExpressionsThatFailAtRuntime() {
+        assertThat(optimize("1 / 0;"), is(equalTo("(1 / 0)")));
+        assertThat(optimize("1 + true;"), is(equalTo("(1 + true)")));
+        assertThat(optimize("\"a\" - \"b\";"), is(equalTo("(a - b)")));
+        assertThat(optimize("-true;"), is(equalTo("(-true)")));
+    }
+
+    @Test
+    public void shouldDropBranchesALiteralConditionNeverTakes() {
+        assertThat(optimize("if (1 < 2) { x } else { y };"), is(equalTo("x")));
+        assertThat(optimize("if (false) { x } else { y };"), is(equalTo("y")));
+        assertThat(optimize("if (0) { x };"), is(equalTo("if 0 ")));
+        assertThat(optimize("if (x) { 1 + 1 } else { 2 };"), is(equalTo("if x 2 else 2")));
+    }
+
+    @Test
+    public void shouldShortenNegationChains() {
+        assertThat(optimize("!!!x;"), is(equalTo("(!x)")));
+        assertThat(optimize("!!(x < y);"), is(equalTo("(x < y)")));
+        assertThat(optimize("!!x;"), is(equalTo("(!(!x))")));
+    }
+
+    @Test
+    public void shouldNotChangeWhatProgramsEvaluateTo() {
+        for (Object[] row : EvaluatorTest.data()) {
+            // Set
+            var program = new Parser((String) row[0]).parseProgram();
+
+            // Act
+            var optimized = new Evaluator().evaluate(new Environment(), new Optimizer().optimize(program));
+            var original = new Evaluator().evaluate(new Environment(), program);
+
+            // Assert
+            assertThat((String) row[0], optimized, is(equalTo(original)));
+        }
+    }
+
+    private static String optimize(String input) {
+        return new Optimizer().optimize(new Parser(input).parseProgram()).toString();
+    }
+
+}
@@ -8,6 +8,8 @@ import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.StringReader;
+import java.util.List;
 import org.junit.Test;
 
 public class ParserTest {
@@ -286,4 +288,31 @@ public class ParserTest {
         assertThat(dictionaryExpr.size(), is(equalTo(1)));
     }
 
+    @Test
+    public void shouldParseFromAReader() {
+        // Set
+        var input = "let add = fn(a, b) { a + b };\nadd(1, 2);";
+        var parser = new Parser(new StringReader(input));
+
+        // Act
+        var program = parser.parseProgram();
+
+        // Assert
+        assertFalse(parser.foundErrors());
+        assertThat(program, is(equalTo(new Parser(input).parseProgram())));
+    }
+
+    @Test
+    public void shouldReportWhereAnErrorOccurred() {
+        // Set
+        var parser = new Parser("let a = 1;\nlet = 2;");
+
+        // Act
+        parser.parseProgram();
+
+        // Assert
+        assertThat(parser.errors(), is(equalTo(List.of(
+              "Next token should be of type IDENT but is instead of type ASSIGN at line 2, column 5"))));
+    }
+
 }
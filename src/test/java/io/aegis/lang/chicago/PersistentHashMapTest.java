@@ -0,0 +1,93 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class PersistentHashMapTest {
+
+    @Test
+    public void shouldBehaveLikeAHashMap() {
+        // Set
+        PersistentHashMap<Integer, String> map = PersistentHashMap.empty();
+        Map<Integer, String> expected = new HashMap<>();
+
+        // Act
+        for (int i = 0; i < 50_000; i++) {
+            map = map.plus(i * 31, "v" + i);
+            expected.put(i * 31, "v" + i);
+        }
+        for (int i = 0; i < 50_000; i += 3) {
+            map = map.minus(i * 31);
+            expected.remove(i * 31);
+        }
+
+        // Assert
+        assertThat(map.size(), is(expected.size()));
+        assertThat(map, is(equalTo(expected)));
+        assertThat(expected, is(equalTo(map)));
+        assertThat(map.get(31), is("v1"));
+        assertThat(map.get(0), is(nullValue()));
+    }
+
+    @Test
+    public void shouldLeavePreviousVersionsUntouched() {
+        // Set
+        var original = PersistentHashMap.copyOf(Map.of("a", 1, "b", 2));
+
+        // Act
+        var added = original.plus("c", 3);
+        var replaced = original.plus("a", 10);
+        var removed = original.minus("b");
+
+        // Assert
+        assertThat(original, is(equalTo(Map.of("a", 1, "b", 2))));
+        assertThat(added, is(equalTo(Map.of("a", 1, "b", 2, "c", 3))));
+        assertThat(replaced, is(equalTo(Map.of("a", 10, "b", 2))));
+        assertThat(removed, is(equalTo(Map.of("a", 1))));
+    }
+
+    @Test
+    public void shouldReturnTheSameMapForNoOpUpdates() {
+        // Set
+        var map = PersistentHashMap.copyOf(Map.of("a", 1));
+
+        // Act & Assert
+        assertThat(map.plus("a", 1), is(sameInstance(map)));
+        assertThat(map.minus("b"), is(sameInstance(map)));
+        assertThat(map.minus("a").minus("a"), is(sameInstance(PersistentHashMap.empty())));
+    }
+
+    @Test
+    public void shouldKeepKeysWithCollidingHashes() {
+        // Set
+        PersistentHashMap<CollidingKey, Integer> map = PersistentHashMap.empty();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            map = map.plus(new CollidingKey(i), i);
+        }
+        map = map.plus(new CollidingKey(3), 30).minus(new CollidingKey(5));
+
+        // Assert
+        assertThat(map.size(), is(9));
+        assertThat(map.get(new CollidingKey(3)), is(30));
+        assertThat(map.containsKey(new CollidingKey(5)), is(false));
+        assertThat(map.get(new CollidingKey(9)), is(9));
+    }
+
+    private record CollidingKey(int id) {
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class PersistentVectorTest {
+
+    @Test
+    public void shouldAppendAcrossSeveralTrieLevels() {
+        // Set
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> expected = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 40_000; i++) {
+            vector = vector.append(i);
+            expected.add(i);
+        }
+
+        // Assert
+        assertThat(vector.size(), is(40_000));
+        assertThat(vector, is(equalTo(expected)));
+        assertThat(vector.get(1055), is(1055));
+        assertThat(vector.get(32_767), is(32_767));
+    }
+
+    @Test
+    public void shouldBuildTheSameVectorFromACollection() {
+        for (int size : new int[] {0, 1, 31, 32, 33, 1024, 1056, 33_000}) {
+            // Set
+            List<Integer> elements = new ArrayList<>();
+            PersistentVector<Integer> appended = PersistentVector.empty();
+            for (int i = 0; i < size; i++) {
+                elements.add(i);
+                appended = appended.append(i);
+            }
+
+            // Act
+            var copied = PersistentVector.copyOf(elements).append(size);
+            appended = appended.append(size);
+
+            // Assert
+            assertThat(copied, is(equalTo(appended)));
+        }
+    }
+
+    @Test
+    public void shouldShareStructureBetweenVersions() {
+        // Set
+        var original = PersistentVector.copyOf(List.of(1, 2, 3));
+
+        // Act
+        var appended = original.append(4);
+        var dropped = original.dropFirst();
+
+        // Assert
+        assertThat(original, is(equalTo(List.of(1, 2, 3))));
+        assertThat(appended, is(equalTo(List.of(1, 2, 3, 4))));
+        assertThat(dropped, is(equalTo(List.of(2, 3))));
+    }
+
+    @Test
+    public void shouldDropFirstUntilEmpty() {
+        // Set
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 5_000; i++) {
+            vector = vector.append(i);
+        }
+
+        // Act & Assert
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(vector.get(0), is(i));
+            assertThat(vector.size(), is(5_000 - i));
+            vector = vector.dropFirst();
+        }
+        assertThat(vector.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldAppendAfterDroppingFirst() {
+        // Set
+        var vector = PersistentVector.copyOf(List.of(0, 1, 2));
+
+        // Act
+        for (int i = 3; i < 200; i++) {
+            vector = vector.dropFirst().append(i);
+        }
+
+        // Assert
+        assertThat(vector, is(equalTo(List.of(197, 198, 199))));
+    }
+
+}
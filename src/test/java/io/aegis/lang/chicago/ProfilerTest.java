@@ -0,0 +1,95 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class ProfilerTest {
+
+    @Test
+    public void shouldCountCallsPerFunctionAndBuiltin() {
+        // Set
+        var profiler = new Profiler();
+
+        // Act
+        var result = run(profiler, """
+              let fib = fn(n) { if (n < 2) { n } else { fib(n - 1) + fib(n - 2) } };
+              let size = fn(a) { len(a) };
+              fib(10) + size([1]) + size([1, 2]) + fn(x) { x }(0);
+              """);
+
+        // Assert
+        assertThat(result, is(IntegerValue.of(58)));
+        var functions = byName(profiler);
+        assertThat(functions.get("fib").calls(), is(177L));
+        assertThat(functions.get("size").calls(), is(2L));
+        assertThat(functions.get("len").calls(), is(2L));
+        assertThat(functions.get("fn(x)").calls(), is(1L));
+    }
+
+    @Test
+    public void shouldCountEveryTailCallAsACall() {
+        // Set
+        var profiler = new Profiler();
+
+        // Act
+        run(profiler, "let count = fn(n) { if (n == 0) { n } else { count(n - 1) } }; count(10);");
+
+        // Assert
+        assertThat(byName(profiler).get("count").calls(), is(11L));
+    }
+
+    @Test
+    public void shouldNotCountRecursionTwiceInInclusiveTime() {
+        // Set
+        var profiler = new Profiler();
+
+        // Act
+        run(profiler, "let fib = fn(n) { if (n < 2) { n } else { fib(n - 1) + fib(n - 2) } }; fib(15);");
+
+        // Assert
+        var fib = byName(profiler).get("fib");
+        assertThat(fib.selfNanos(), is(lessThanOrEqualTo(fib.inclusiveNanos())));
+        assertThat(fib.selfBytes(), is(lessThanOrEqualTo(fib.inclusiveBytes())));
+    }
+
+    @Test
+    public void shouldWriteCollapsedStacksAndAFlatProfile() {
+        // Set
+        var profiler = new Profiler();
+
+        // Act
+        run(profiler, """
+              let inner = fn(a) { len(a) };
+              let outer = fn(a) { inner(a) + 1 };
+              outer([1, 2]);
+              """);
+
+        // Assert
+        var stacks = profiler.collapsedStacks();
+        assertThat(stacks, containsString("outer;inner;len "));
+        var total = stacks.lines()
+              .mapToLong(line -> Long.parseLong(line.substring(line.lastIndexOf(' ') + 1)))
+              .sum();
+        var outer = byName(profiler).get("outer");
+        assertThat(total, is(equalTo(outer.inclusiveNanos())));
+        assertThat(profiler.flatProfile(), containsString("inner"));
+    }
+
+    private static Value run(Profiler profiler, String source) {
+        return new Evaluator(profiler).evaluate(new Environment(), new Parser(source).parseProgram());
+    }
+
+    private static Map<String, Profiler.FunctionProfile> byName(Profiler profiler) {
+        return profiler.functions().stream()
+              .collect(Collectors.toMap(Profiler.FunctionProfile::name, Function.identity()));
+    }
+
+}
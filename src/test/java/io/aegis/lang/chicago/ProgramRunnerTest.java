@@ -0,0 +1,138 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class ProgramRunnerTest {
+
+    private static final String PRELUDE = """
+          let table = {"a": 1, "b": 2};
+          let sum = fn(arr, acc) { if (len(arr) == 0) { acc } else { sum(tail(arr), acc + first(arr)) } };
+          let adder = fn(x) { fn(y) { x + y } };
+          """;
+
+    private static final String SCRIPT = """
+          let fill = fn(arr, n) { if (n == 0) { arr } else { fill(push(arr, n), n - 1) } };
+          let items = fill([], input);
+          let add = adder(input);
+          let scaled = add(sum(items, 0)) * table["b"];
+          [input, scaled, put(table, "c", input)["c"], table["c"]];
+          """;
+
+    @Test
+    public void shouldKeepRunsApart() {
+        // Set
+        var runner = new ProgramRunner(new Parser(SCRIPT).parseProgram(), prelude());
+
+        // Act
+        var first = runner.run(Map.of("input", IntegerValue.of(3)));
+        var second = runner.run(Map.of("input", IntegerValue.of(4)));
+
+        // Assert
+        assertThat(first, is(equalTo(expected(3))));
+        assertThat(second, is(equalTo(expected(4))));
+    }
+
+    @Test
+    public void shouldRunACompiledProgramAgainstAPrelude() {
+        // Set
+        var compiled = new ClosureCompiler().compile(new Parser(SCRIPT).parseProgram());
+        var runner = new ProgramRunner(compiled, prelude());
+
+        // Act
+        var first = runner.run(Map.of("input", IntegerValue.of(3)));
+        var second = runner.run(Map.of("input", IntegerValue.of(4)));
+
+        // Assert
+        assertThat(first, is(equalTo(expected(3))));
+        assertThat(second, is(equalTo(expected(4))));
+    }
+
+    @Test
+    public void shouldNotLetARunModifyTheGlobals() {
+        // Set
+        var globals = prelude();
+        var runner = new ProgramRunner(new Parser("let table = 5; table;").parseProgram(), globals);
+
+        // Act
+        var result = runner.run();
+
+        // Assert
+        assertThat(result, is(equalTo(IntegerValue.of(5))));
+        assertThat(globals.get("table").is(Dictionary.class), is(true));
+        assertThrows(IllegalStateException.class, () -> globals.set("table", IntegerValue.of(5)));
+    }
+
+    @Test
+    public void shouldNotKeepTheBindingsOfAFinishedRun() {
+        // Set
+        var runner = new ProgramRunner(new Parser("let f = fn(x) { len(x) }; f(data);").parseProgram());
+        List<Value> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(IntegerValue.of(i));
+        }
+        var data = new Array(elements);
+        var reference = new WeakReference<>(data);
+        var result = runner.run(Map.of("data", data));
+        data = null;
+
+        // Act
+        for (int i = 0; i < 20 && reference.get() != null; i++) {
+            System.gc();
+        }
+
+        // Assert
+        assertThat(result, is(equalTo(IntegerValue.of(1000))));
+        assertThat(reference.get(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldRunOneProgramConcurrently() throws Exception {
+        // Set
+        var runner = new ProgramRunner(new Parser(SCRIPT).parseProgram(), prelude());
+        var executor = Executors.newFixedThreadPool(8);
+        List<Callable<Value>> tasks = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            var input = i % 50;
+            tasks.add(() -> runner.run(Map.of("input", IntegerValue.of(input))));
+        }
+
+        // Act
+        List<Future<Value>> results;
+        try {
+            results = executor.invokeAll(tasks);
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).get(), is(equalTo(expected(i % 50))));
+        }
+    }
+
+    private static Environment prelude() {
+        var globals = new Environment();
+        new Evaluator().evaluate(globals, new Parser(PRELUDE).parseProgram());
+        return globals;
+    }
+
+    private static Value expected(long input) {
+        var scaled = (input + input * (input + 1) / 2) * 2;
+        return new Array(List.of(IntegerValue.of(input), IntegerValue.of(scaled), IntegerValue.of(input),
+              NullValue.get()));
+    }
+
+}
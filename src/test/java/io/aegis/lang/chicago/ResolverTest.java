@@ -0,0 +1,107 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import org.junit.Test;
+
+public class ResolverTest {
+
+    @Test
+    public void shouldLeaveTopLevelIdentifiersUnresolved() {
+        // Set
+        var input = "let a = 1; a;";
+
+        // Act
+        var program = new Parser(input).parseProgram();
+
+        // Assert
+        var iterator = program.iterator();
+        assertThat(iterator.nextStatementAs(LetStatement.class).name().coordinate(), is(nullValue()));
+        assertThat(iterator.nextStatementAs(ExpressionStatement.class).expressionAs(Identifier.class).coordinate(),
+              is(nullValue()));
+    }
+
+    @Test
+    public void shouldAssignSlotsToParametersAndLocals() {
+        // Set
+        var input = "fn(a, b) { let c = a; if (b) { let d = c; } d }";
+
+        // Act
+        var program = new Parser(input).parseProgram();
+
+        // Assert
+        var fn = program.iterator().nextStatementAs(ExpressionStatement.class).expressionAs(FunctionLiteral.class);
+        assertThat(fn.locals(), is(equalTo(List.of("a", "b", "c", "d"))));
+        var body = fn.body().iterator();
+        var let = body.nextStatementAs(LetStatement.class);
+        assertThat(let.name().coordinate(), is(equalTo(new Coordinate(0, 2))));
+        assertThat(((Identifier) let.value()).coordinate(), is(equalTo(new Coordinate(0, 0))));
+        body.next();
+        var d = body.nextStatementAs(ExpressionStatement.class).expressionAs(Identifier.class);
+        assertThat(d.coordinate(), is(equalTo(new Coordinate(0, 3))));
+    }
+
+    @Test
+    public void shouldCaptureLocalsOfEnclosingFunctions() {
+        // Set
+        var input = "fn(a) { fn(b) { a + b + c } }";
+
+        // Act
+        var program = new Parser(input).parseProgram();
+
+        // Assert
+        var outer = program.iterator().nextStatementAs(ExpressionStatement.class).expressionAs(FunctionLiteral.class);
+        var inner = outer.body().iterator().nextStatementAs(ExpressionStatement.class).expressionAs(FunctionLiteral.class);
+        var sum = inner.body().iterator().nextStatementAs(ExpressionStatement.class).expressionAs(InfixExpression.class);
+        var aPlusB = (InfixExpression) sum.left();
+        assertThat(((Identifier) aPlusB.left()).coordinate(), is(equalTo(new Coordinate(1, 0))));
+        assertThat(((Identifier) aPlusB.right()).coordinate(), is(equalTo(new Coordinate(0, 0))));
+        assertThat(((Identifier) sum.right()).coordinate(), is(equalTo(Coordinate.global(1))));
+        assertThat(outer.cells(), is(equalTo(List.of(0))));
+        assertThat(inner.captures(), is(equalTo(List.of(new FunctionLiteral.Capture(true, 0)))));
+    }
+
+    @Test
+    public void shouldThreadCapturesThroughIntermediateFunctions() {
+        // Set
+        var input = "fn(a, b) { fn(c) { fn(d) { b } } }";
+
+        // Act
+        var program = new Parser(input).parseProgram();
+
+        // Assert
+        var outer = program.iterator().nextStatementAs(ExpressionStatement.class).expressionAs(FunctionLiteral.class);
+        var middle = outer.body().iterator().nextStatementAs(ExpressionStatement.class).expressionAs(FunctionLiteral.class);
+        var inner = middle.body().iterator().nextStatementAs(ExpressionStatement.class).expressionAs(FunctionLiteral.class);
+        var b = inner.body().iterator().nextStatementAs(ExpressionStatement.class).expressionAs(Identifier.class);
+        assertThat(outer.cells(), is(equalTo(List.of(1))));
+        assertThat(middle.captures(), is(equalTo(List.of(new FunctionLiteral.Capture(true, 1)))));
+        assertThat(inner.captures(), is(equalTo(List.of(new FunctionLiteral.Capture(false, 0)))));
+        assertThat(b.coordinate(), is(equalTo(Coordinate.captured(0))));
+    }
+
+    @Test
+    public void shouldLetGlobalReferencesFallBackToBuiltins() {
+        // Set
+        var input = "fn(len) { len + first }; len";
+
+        // Act
+        var program = new Parser(input).parseProgram();
+
+        // Assert
+        var iterator = program.iterator();
+        var fn = iterator.nextStatementAs(ExpressionStatement.class).expressionAs(FunctionLiteral.class);
+        var sum = fn.body().iterator().nextStatementAs(ExpressionStatement.class).expressionAs(InfixExpression.class);
+        var topLevel = iterator.nextStatementAs(ExpressionStatement.class).expressionAs(Identifier.class);
+        assertThat(((Identifier) sum.left()).builtin(), is(nullValue()));
+        assertThat(((Identifier) sum.right()).builtin(), is(sameInstance(BuiltinRegistry.STANDARD.get("first"))));
+        assertThat(topLevel.builtin(), is(sameInstance(BuiltinRegistry.STANDARD.get("len"))));
+        assertThat(topLevel.coordinate(), is(nullValue()));
+    }
+
+}
@@ -0,0 +1,125 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class ScriptCacheTest {
+
+    @Test
+    public void shouldParseEachSourceOnce() {
+        // Set
+        var cache = new ScriptCache();
+
+        // Act
+        var first = cache.program("let a = 1; a + 2;");
+        var second = cache.program("let a = 1; a + 2;");
+
+        // Assert
+        assertThat(second, is(sameInstance(first)));
+        assertThat(cache.stats(), is(equalTo(new ScriptCache.Stats(1, 1, 0, 1))));
+        assertThat(new Evaluator().evaluate(new Environment(), second), is(equalTo(IntegerValue.of(3))));
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedSource() {
+        // Set
+        var cache = new ScriptCache(2);
+        var one = cache.program("1;");
+        cache.program("2;");
+        cache.program("1;");
+
+        // Act
+        cache.program("3;");
+
+        // Assert
+        assertThat(cache.stats().evictions(), is(1L));
+        assertThat(cache.program("1;"), is(sameInstance(one)));
+        assertThat(cache.stats().misses(), is(3L));
+        cache.program("2;");
+        assertThat(cache.stats().misses(), is(4L));
+    }
+
+    @Test
+    public void shouldReparseAfterInvalidation() {
+        // Set
+        var cache = new ScriptCache();
+        var program = cache.program("1 + 1;");
+
+        // Act
+        var invalidated = cache.invalidate("1 + 1;");
+
+        // Assert
+        assertThat(invalidated, is(true));
+        assertThat(cache.program("1 + 1;"), is(not(sameInstance(program))));
+        assertThat(cache.stats().misses(), is(2L));
+    }
+
+    @Test
+    public void shouldRejectSourcesWithParseErrors() {
+        // Set
+        var cache = new ScriptCache();
+
+        // Act
+        var ex = assertThrows(ParserException.class, () -> cache.program("let = 5;"));
+
+        // Assert
+        assertThat(ex.errors().isEmpty(), is(false));
+        assertThat(cache.stats().size(), is(0));
+    }
+
+    @Test
+    public void shouldCompileEachSourceOnce() {
+        // Set
+        var cache = new ScriptCache();
+
+        // Act
+        var first = cache.bytecode("let f = fn(x) { x * 2 }; f(21);");
+        var second = cache.bytecode("let f = fn(x) { x * 2 }; f(21);");
+
+        // Assert
+        assertThat(second, is(sameInstance(first)));
+        assertThat(new VirtualMachine(first).run(), is(equalTo(IntegerValue.of(42))));
+        assertThat(new VirtualMachine(second).run(), is(equalTo(IntegerValue.of(42))));
+    }
+
+    @Test
+    public void shouldServeConcurrentCallers() throws Exception {
+        // Set
+        var cache = new ScriptCache(8);
+        var executor = Executors.newFixedThreadPool(4);
+        List<Callable<Value>> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            var n = i % 16;
+            tasks.add(() -> new Evaluator().evaluate(new Environment(), cache.program("let n = " + n + "; n * n;")));
+        }
+
+        // Act
+        List<Future<Value>> results;
+        try {
+            results = executor.invokeAll(tasks);
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        for (int i = 0; i < results.size(); i++) {
+            var n = i % 16;
+            assertThat(results.get(i).get(), is(equalTo(IntegerValue.of((long) n * n))));
+        }
+        var stats = cache.stats();
+        assertThat(stats.hits() + stats.misses(), is(200L));
+        assertThat(stats.size() <= 8, is(true));
+    }
+
+}
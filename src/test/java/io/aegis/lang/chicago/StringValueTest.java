@@ -0,0 +1,74 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Map;
+import org.junit.Test;
+
+public class StringValueTest {
+
+    private static final StringValue PIECE = new StringValue("0123456789012345678901234567890123456789");
+
+    @Test
+    public void shouldKeepShortConcatenationsFlat() {
+        // Act
+        var concatenated = new StringValue("hello").concat(new StringValue(" world"));
+
+        // Assert
+        assertThat(concatenated.isFlat(), is(true));
+        assertThat(concatenated.value(), is("hello world"));
+    }
+
+    @Test
+    public void shouldFlattenADeepRopeOnce() {
+        // Set
+        var left = new StringValue("");
+        var right = new StringValue("");
+        var expected = new StringBuilder();
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            left = left.concat(PIECE);
+            right = PIECE.concat(right);
+            expected.append(PIECE.value());
+        }
+
+        // Assert
+        assertThat(left.isFlat(), is(false));
+        assertThat(left.length(), is(expected.length()));
+        assertThat(left.value(), is(expected.toString()));
+        assertThat(right.value(), is(expected.toString()));
+        assertThat(left.isFlat(), is(true));
+    }
+
+    @Test
+    public void shouldCompareAndHashByContent() {
+        // Set
+        var rope = PIECE.concat(PIECE);
+        var flat = new StringValue(PIECE.value() + PIECE.value());
+
+        // Act
+        var dictionary = new Dictionary(Map.of(flat, IntegerValue.of(1)));
+
+        // Assert
+        assertThat(rope, is(equalTo(flat)));
+        assertThat(rope.hashCode(), is(flat.hashCode()));
+        assertThat(dictionary.get(rope), is(IntegerValue.of(1)));
+    }
+
+    @Test
+    public void shouldAnswerTheLengthOfARopeWithoutFlatteningIt() {
+        // Set
+        var rope = PIECE.concat(PIECE).concat(PIECE);
+
+        // Act
+        var length = BuiltinRegistry.STANDARD.get("len").function().apply(new Value[] {rope});
+
+        // Assert
+        assertThat(length, is(IntegerValue.of(120)));
+        assertThat(rope.isFlat(), is(false));
+    }
+
+}
@@ -0,0 +1,73 @@
+package io.aegis.lang.chicago;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class VirtualMachineTest {
+
+    @Parameters
+    public static Collection<Object[]> data() {
+        List<Object[]> data = new ArrayList<>();
+        for (Object[] evaluatorCase : EvaluatorTest.data()) {
+            data.add(new Object[]{evaluatorCase[0]});
+        }
+        data.addAll(List.of(new Object[][]{
+              {"let fib = fn(n) { if (n < 2) { return n; } fib(n - 1) + fib(n - 2) }; fib(15);"},
+              {"let counter = fn(x) { if (x > 100) { return x; } counter(x + 1); }; counter(0);"},
+              {"let outer = fn(a) { let inner = fn(b) { fn(c) { a + b + c } }; inner(2) }; outer(1)(3);"},
+              {"let f = fn(n) { let g = fn(m) { if (m == 0) { 0 } else { m + g(m - 1) } }; g(n) }; f(10);"},
+              {"let a = 1; let a = a + 1; a;"},
+              {"let x = 5;"},
+              {"if (false) { 1 };"},
+              {"let f = fn(x) { let y = x * 2; y }; f(3) + f(4);"},
+              {"let g = fn(x) { h(x) }; let h = fn(x) { x * 10 }; g(4);"},
+              {"undefined;"},
+              {"5(1);"},
+              {"[1, 2, 3][1 + 1] + {\"a\": 40}[\"a\"];"},
+              {"let reduce = fn(arr, acc, f) { if (len(arr) == 0) { acc } else { reduce(tail(arr), f(acc, first(arr)), f) } };"
+                    + " reduce([1, 2, 3, 4], 0, fn(a, b) { a + b });"},
+              {"\"a\" == \"a\";"},
+              {"[1] == [1];"},
+              {"let len = fn(x) { 42 }; len(\"abc\");"},
+              {"let f = fn(n) { if (n == 0) { 0 } else { f(n - 1) } }; let h = f; let f = fn(n) { 99 }; h(5);"},
+              {"let a = if (false) { 1 }; a;"},
+              {"let f = fn(x) { let a = if (false) { 1 }; a }; f(1);"},
+              {"let len = if (false) { 1 }; len(\"abc\");"},
+              // deeper than the stack a VM starts with
+              {"[" + "1, ".repeat(500) + "1][500];"},
+              {"let f = fn(n) { if (n == 0) { 0 } else { 1 + f(n - 1) } }; f(100);"}
+        }));
+        return data;
+    }
+
+    private final String input;
+
+    public VirtualMachineTest(String input) {
+        this.input = input;
+    }
+
+    @Test
+    public void shouldEvaluateToTheSameValueAsTheEvaluator() {
+        // Set
+        var program = new Parser(input).parseProgram();
+        var expected = new Evaluator().evaluate(new Environment(), program);
+
+        // Act
+        var bytecode = new Compiler().compile(program);
+        var result = new VirtualMachine(bytecode).run();
+
+        // Assert
+        assertThat(result, is(equalTo(expected)));
+    }
+
+}